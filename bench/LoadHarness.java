@@ -0,0 +1,222 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class replays synthetic registration traffic against a soccer team model.
+ * Operations are started at a fixed target rate: bursts of registrations alternate with
+ * removals and repeated team and lineup generation. The latency of an operation is measured
+ * from the time it was due to start, so a slow operation also counts against the operations
+ * queued behind it. The first {@value #WARMUP_SECONDS} seconds warm up the JIT and are not
+ * recorded. At the end the throughput over the measured run time and the p50, p99 and p99.9
+ * latencies of every operation are printed; a model that cannot keep up shows a throughput
+ * below the target rate.
+ * The ids of the players are tracked by a listener, so picking a player to remove does not
+ * copy the roster of the model.
+ *
+ * <p>Usage: {@code gradle loadHarness -Pargs="[impl|offheap] [ops per second] [seconds]
+ * [initial players] [seed]"}
+ */
+public class LoadHarness {
+
+  /**
+   * The operations of the synthetic traffic.
+   */
+  private enum Operation {
+    ADD_PLAYER, REMOVE_PLAYER, GENERATE_TEAM, GENERATE_STARTING_LINEUP
+  }
+
+  private static final int BURST_LENGTH = 50;
+  private static final int WARMUP_SECONDS = 2;
+
+  /**
+   * The ids of the players of the model, kept up to date from its events so that a random
+   * player can be picked and removed in constant time.
+   */
+  private static final class Roster implements SoccerTeamModelListener {
+    private final List<String> ids = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    @Override
+    public void playerAdded(Player player) {
+      String id = player.getId();
+      indexes.put(id, ids.size());
+      ids.add(id);
+    }
+
+    @Override
+    public void playerRemoved(Player player) {
+      Integer index = indexes.remove(player.getId());
+      if (index != null) {
+        // move the last id into the gap
+        String last = ids.remove(ids.size() - 1);
+        if (index < ids.size()) {
+          ids.set(index, last);
+          indexes.put(last, index);
+        }
+      }
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players
+     */
+    int size() {
+      return ids.size();
+    }
+
+    /**
+     * Returns the id of a player.
+     *
+     * @param index the position of the player, below {@link #size()}
+     * @return the id of the player
+     */
+    String get(int index) {
+      return ids.get(index);
+    }
+  }
+
+  /**
+   * The outcome of one run.
+   */
+  private static final class Result {
+    private long failures;
+    private long elapsedNanos;
+  }
+
+  /**
+   * Runs the harness.
+   *
+   * @param args the model, rate, duration, initial players and seed
+   */
+  public static void main(String[] args) {
+    String modelName = args.length > 0 ? args[0] : "impl";
+    int rate = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    int initialPlayers = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+
+    SoccerTeamModel model =
+        modelName.equals("offheap") ? new OffHeapSoccerTeamModel() : new SoccerTeamModelImpl();
+    Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      latencies.put(operation, new LatencyHistogram());
+    }
+    LatencyHistogram all = new LatencyHistogram();
+    Roster roster = new Roster();
+    model.addModelListener(roster);
+    SyntheticPlayerGenerator generator = new SyntheticPlayerGenerator(seed, LocalDate.now());
+    for (int i = 0; i < Math.max(initialPlayers, SoccerTeamModelImpl.TEAM_LOWER_LIMIT); i++) {
+      generator.addTo(model);
+    }
+    run(model, roster, generator, rate, WARMUP_SECONDS, latencies, all);
+    for (LatencyHistogram histogram : latencies.values()) {
+      histogram.reset();
+    }
+    all.reset();
+    Result result = run(model, roster, generator, rate, seconds, latencies, all);
+
+    double elapsedSeconds = result.elapsedNanos / 1e9;
+    System.out.printf("model=%s rate=%d/s duration=%ds elapsed=%.2fs initial=%d seed=%d "
+        + "failures=%d%n", modelName, rate, seconds, elapsedSeconds, initialPlayers, seed,
+        result.failures);
+    System.out.printf("%-26s %10s %12s %12s %12s %12s%n", "Operation", "count", "ops/s",
+        "p50 us", "p99 us", "p99.9 us");
+    for (Map.Entry<Operation, LatencyHistogram> entry : latencies.entrySet()) {
+      print(entry.getKey().name(), entry.getValue(), elapsedSeconds);
+    }
+    print("ALL", all, elapsedSeconds);
+  }
+
+  /**
+   * Drives the model at the target rate.
+   *
+   * @param model     the model
+   * @param roster    the ids of the players of the model
+   * @param generator the source of players and random choices
+   * @param rate      the operations per second
+   * @param seconds   how long to run
+   * @param latencies where to record the latency of each operation
+   * @param all       where to record the latency of all operations
+   * @return the number of operations that threw an exception and the time the run took
+   */
+  private static Result run(SoccerTeamModel model, Roster roster,
+                            SyntheticPlayerGenerator generator, int rate, int seconds,
+                            Map<Operation, LatencyHistogram> latencies, LatencyHistogram all) {
+    long interval = 1_000_000_000L / rate;
+    long total = (long) rate * seconds;
+    Result result = new Result();
+    long start = System.nanoTime();
+    for (long i = 0; i < total; i++) {
+      long due = start + i * interval;
+      while (System.nanoTime() < due) {
+        Thread.onSpinWait();
+      }
+      Operation operation = nextOperation(i, generator, roster);
+      try {
+        switch (operation) {
+          case ADD_PLAYER:
+            generator.addTo(model);
+            break;
+          case REMOVE_PLAYER:
+            model.removePlayer(roster.get(generator.nextInt(roster.size())));
+            break;
+          case GENERATE_TEAM:
+            model.generateTeam();
+            break;
+          default:
+            model.generateStartingLineup();
+            break;
+        }
+      } catch (RuntimeException e) {
+        result.failures++;
+      }
+      long latency = System.nanoTime() - due;
+      latencies.get(operation).record(latency);
+      all.record(latency);
+    }
+    result.elapsedNanos = System.nanoTime() - start;
+    return result;
+  }
+
+  /**
+   * Picks the next operation. Every other burst is all registrations; the bursts in between
+   * mix removals with team and lineup generation.
+   *
+   * @param i         the number of the operation
+   * @param generator the source of random choices
+   * @param roster    the ids of the players of the model
+   * @return the operation
+   */
+  private static Operation nextOperation(long i, SyntheticPlayerGenerator generator,
+                                         Roster roster) {
+    if ((i / BURST_LENGTH) % 2 == 0) {
+      return Operation.ADD_PLAYER;
+    }
+    int choice = generator.nextInt(10);
+    if (choice < 6 && roster.size() > SoccerTeamModelImpl.TEAM_LOWER_LIMIT) {
+      return Operation.REMOVE_PLAYER;
+    } else if (choice < 8) {
+      return Operation.GENERATE_TEAM;
+    }
+    return Operation.GENERATE_STARTING_LINEUP;
+  }
+
+  /**
+   * Prints the results of one operation.
+   *
+   * @param name      the name of the operation
+   * @param histogram the latencies of the operation
+   * @param seconds   how long the run took, as measured
+   */
+  private static void print(String name, LatencyHistogram histogram, double seconds) {
+    System.out.printf("%-26s %10d %12.1f %12.1f %12.1f %12.1f%n", name, histogram.getCount(),
+        histogram.getCount() / seconds,
+        histogram.getPercentileNanos(0.5) / 1e3, histogram.getPercentileNanos(0.99) / 1e3,
+        histogram.getPercentileNanos(0.999) / 1e3);
+  }
+}
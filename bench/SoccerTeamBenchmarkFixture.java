@@ -0,0 +1,143 @@
+import benchmarks.SoccerTeamFixture;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class gives the JMH benchmarks access to the soccer team model.
+ * Models are filled by a {@link SyntheticPlayerGenerator}, so the players added later are
+ * never duplicates; teams outside of a model are filled with random players.
+ */
+public class SoccerTeamBenchmarkFixture implements SoccerTeamFixture {
+  private static final String[] LAST_NAMES =
+      {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Lopez",
+          "Martinez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Jackson"};
+  private static final String[] FIRST_NAMES =
+      {"Olivia", "Liam", "Emma", "Noah", "Ava", "Lucas", "Sophia", "Mia", "Ethan", "Amelia",
+          "James", "Harper", "Mason", "Ella", "Logan", "Chloe"};
+  private final long seed;
+  private final Random random;
+  private SoccerTeamModelImpl model;
+  private SyntheticPlayerGenerator generator;
+  private String[] removableIds;
+  private int removed;
+  private Team team;
+
+  /**
+   * Creates a fixture.
+   *
+   * @param seed the seed of the random details
+   */
+  public SoccerTeamBenchmarkFixture(long seed) {
+    this.seed = seed;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Fills a new model with the players of a new generator and picks players to remove,
+   * spread over the roster.
+   *
+   * @param size      the number of players
+   * @param removable the number of players to pick for removal
+   */
+  @Override
+  public void fillRoster(int size, int removable) {
+    generator = new SyntheticPlayerGenerator(seed, LocalDate.now());
+    model = new SoccerTeamModelImpl();
+    for (int i = 0; i < size; i++) {
+      generator.addTo(model);
+    }
+    List<Player> players = model.getPlayers();
+    removableIds = new String[Math.min(removable, size)];
+    for (int i = 0; i < removableIds.length; i++) {
+      removableIds[i] = players.get((int) ((long) i * size / removableIds.length)).getId();
+    }
+    removed = 0;
+  }
+
+  /**
+   * Fills a new team, outside of any model, with random players.
+   *
+   * @param size the number of players
+   */
+  @Override
+  public void fillTeam(int size) {
+    team = new Team();
+    for (int i = 0; i < size; i++) {
+      team.addPlayer(newPlayer());
+    }
+  }
+
+  /**
+   * Creates a random player.
+   *
+   * @return the player
+   */
+  @Override
+  public Player newPlayer() {
+    return new Player(LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+        LocalDate.now().minusDays(random.nextInt(3000)),
+        Position.values()[random.nextInt(Position.values().length)],
+        1 + random.nextInt(5));
+  }
+
+  /**
+   * Adds the next player of the generator to the model.
+   */
+  @Override
+  public void addPlayer() {
+    generator.addTo(model);
+  }
+
+  /**
+   * Removes the next player picked for removal from the model.
+   */
+  @Override
+  public void removePlayer() {
+    model.removePlayer(removableIds[removed++]);
+  }
+
+  /**
+   * Switches the skill level of the first player of the team between 4 and 5. The player is
+   * one of the players the starting lineup is picked from, so the kept lineup is generated
+   * again, while the team and its order stay the same.
+   */
+  @Override
+  public void changeLineupCandidate() {
+    Player player = model.getTeam().getPlayers().get(0);
+    player.setSkillLevel(player.getSkillLevel() == 5 ? 4 : 5);
+  }
+
+  /**
+   * Generates the team of the model.
+   *
+   * @return the team
+   */
+  @Override
+  public Team generateTeam() {
+    model.generateTeam();
+    return model.getTeam();
+  }
+
+  /**
+   * Generates the starting lineup of the model.
+   *
+   * @return the starting lineup
+   */
+  @Override
+  public List<Player> generateStartingLineup() {
+    model.generateStartingLineup();
+    return model.getTeam().getStartingLineup();
+  }
+
+  /**
+   * Sorts the players of the team filled by {@link #fillTeam(int)} by last name.
+   *
+   * @return the sorted players
+   */
+  @Override
+  public List<Player> getPlayersSortedByLastName() {
+    return team.getPlayersSortedByLastName();
+  }
+}
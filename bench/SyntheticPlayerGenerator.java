@@ -0,0 +1,122 @@
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * This class generates random but valid player details from a seed.
+ * Every generated player is younger than 10 years and has a skill level between 1 and 5,
+ * so the details pass the validation of {@link Player}. The same seed always gives the same
+ * players. The names and birthdates of the generated players never repeat: they are taken
+ * from a walk over every combination of last name, first name and birthdate, so a model is
+ * never offered a duplicate registration by the same generator.
+ */
+public class SyntheticPlayerGenerator {
+  private static final String[] LAST_NAMES =
+      {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Lopez",
+          "Martinez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Jackson", "Martin",
+          "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez"};
+  private static final String[] FIRST_NAMES =
+      {"Olivia", "Liam", "Emma", "Noah", "Ava", "Lucas", "Sophia", "Mia", "Ethan", "Amelia",
+          "James", "Harper", "Mason", "Ella", "Logan", "Chloe", "Aiden", "Nora", "Leo", "Zoe"};
+  // every single last name and every double-barrelled pair of them
+  private static final int LAST_NAME_COUNT =
+      LAST_NAMES.length + LAST_NAMES.length * LAST_NAMES.length;
+  private static final Position[] POSITIONS = Position.values();
+  private final Random random;
+  private final LocalDate today;
+  private final int youngestAgeInDays;
+  private final long combinations;
+  private final long first;
+  private final long stride;
+  private long generated;
+
+  /**
+   * Creates a generator.
+   *
+   * @param seed  the seed of the random details
+   * @param today the day the players must be younger than 10 years on
+   * @throws IllegalArgumentException if the day is null or in the future
+   */
+  public SyntheticPlayerGenerator(long seed, LocalDate today) throws IllegalArgumentException {
+    if (today == null || today.isAfter(LocalDate.now())) {
+      throw new IllegalArgumentException("Day cannot be null or in the future");
+    }
+    this.random = new Random(seed);
+    this.today = today;
+    this.youngestAgeInDays =
+        (int) (today.toEpochDay() - today.minusYears(SoccerTeamModelImpl.AGE_LIMIT).toEpochDay());
+    this.combinations = (long) LAST_NAME_COUNT * FIRST_NAMES.length * youngestAgeInDays;
+
+    // a stride that shares no factor with the number of combinations visits each one once
+    this.first = Math.floorMod(random.nextLong(), combinations);
+    long step = 1 + Math.floorMod(random.nextLong(), combinations - 1);
+    while (gcd(step, combinations) != 1) {
+      step = step % (combinations - 1) + 1;
+    }
+    this.stride = step;
+  }
+
+  /**
+   * Adds a random player to a model. The name and birthdate differ from every player this
+   * generator added before.
+   *
+   * @param model the model
+   * @throws IllegalStateException    if every combination of names and birthdates was used
+   * @throws IllegalArgumentException if the model rejects the player, for example because a
+   *                                  player from elsewhere has the same details
+   */
+  public void addTo(SoccerTeamModel model)
+      throws IllegalStateException, IllegalArgumentException {
+    if (generated == combinations) {
+      throw new IllegalStateException("Every combination of player details was generated");
+    }
+    // split the next combination into birthdate, first name and last name
+    long combination = (first + generated++ * stride) % combinations;
+    int ageInDays = (int) (combination % youngestAgeInDays);
+    combination /= youngestAgeInDays;
+    String firstName = FIRST_NAMES[(int) (combination % FIRST_NAMES.length)];
+    int lastName = (int) (combination / FIRST_NAMES.length);
+    model.addPlayer(lastName(lastName), firstName, today.minusDays(ageInDays),
+        POSITIONS[random.nextInt(POSITIONS.length)], 1 + random.nextInt(5));
+  }
+
+  /**
+   * Returns a last name by its number: the single names first, then the double-barrelled
+   * ones.
+   *
+   * @param number the number of the last name, below {@link #LAST_NAME_COUNT}
+   * @return the last name
+   */
+  private static String lastName(int number) {
+    if (number < LAST_NAMES.length) {
+      return LAST_NAMES[number];
+    }
+    number -= LAST_NAMES.length;
+    return LAST_NAMES[number / LAST_NAMES.length] + "-" + LAST_NAMES[number % LAST_NAMES.length];
+  }
+
+  /**
+   * Returns the greatest common divisor of two positive numbers.
+   *
+   * @param a the first number
+   * @param b the second number
+   * @return the greatest common divisor
+   */
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      long remainder = a % b;
+      a = b;
+      b = remainder;
+    }
+    return a;
+  }
+
+  /**
+   * Returns a random number from the generator's sequence.
+   *
+   * @param bound the upper bound, exclusive
+   * @return a number between 0 and the bound
+   */
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+}
@@ -0,0 +1,184 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for the hot paths of the soccer team model.
+ * Every benchmark that works on a roster is run for each roster size from 10 to 1,000,000
+ * players. Adding and removing players change the roster, so they are timed in single shot
+ * batches on a roster that is filled again before every iteration, and their score is the
+ * time of a whole batch; the other benchmarks leave the roster as it was and are timed on
+ * average.
+ *
+ * <p>Usage: {@code gradle jmh}, see the README for the options.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SoccerTeamBenchmark {
+  private static final int ADDS_PER_BATCH = 1_000;
+  private static final int REMOVES_PER_BATCH = 10;
+  private static final long SEED = 42L;
+
+  /**
+   * The source of random players for the benchmarks that do not need a roster.
+   */
+  @State(Scope.Thread)
+  public static class Players {
+    SoccerTeamFixture fixture;
+
+    /**
+     * Creates the fixture.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = SoccerTeamFixture.create(SEED);
+    }
+  }
+
+  /**
+   * A model with a roster of the benchmarked size, filled again before every iteration.
+   */
+  @State(Scope.Thread)
+  public static class Roster {
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int size;
+    SoccerTeamFixture fixture;
+
+    /**
+     * Fills the roster and picks the players to remove.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+      fixture = SoccerTeamFixture.create(SEED);
+      fixture.fillRoster(size, REMOVES_PER_BATCH);
+    }
+  }
+
+  /**
+   * A model with a roster of the benchmarked size whose team was generated.
+   */
+  @State(Scope.Thread)
+  public static class GeneratedTeam {
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int size;
+    SoccerTeamFixture fixture;
+
+    /**
+     * Fills the roster and generates the team.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = SoccerTeamFixture.create(SEED);
+      fixture.fillRoster(size, 0);
+      fixture.generateTeam();
+    }
+  }
+
+  /**
+   * A team of the benchmarked size outside of any model.
+   */
+  @State(Scope.Thread)
+  public static class LargeTeam {
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int size;
+    SoccerTeamFixture fixture;
+
+    /**
+     * Fills the team with random players.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = SoccerTeamFixture.create(SEED);
+      fixture.fillTeam(size);
+    }
+  }
+
+  /**
+   * Creates a random player.
+   *
+   * @param players the source of random players
+   * @param sink    the sink of the player
+   */
+  @Benchmark
+  public void newPlayer(Players players, Blackhole sink) {
+    sink.consume(players.fixture.newPlayer());
+  }
+
+  /**
+   * Adds a player to the roster.
+   *
+   * @param roster the roster
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 3, batchSize = ADDS_PER_BATCH)
+  @Measurement(iterations = 5, batchSize = ADDS_PER_BATCH)
+  public void addPlayer(Roster roster) {
+    roster.fixture.addPlayer();
+  }
+
+  /**
+   * Removes a player from the roster.
+   *
+   * @param roster the roster
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 3, batchSize = REMOVES_PER_BATCH)
+  @Measurement(iterations = 5, batchSize = REMOVES_PER_BATCH)
+  public void removePlayer(Roster roster) {
+    roster.fixture.removePlayer();
+  }
+
+  /**
+   * Generates the team from the whole roster.
+   *
+   * @param team the model
+   * @param sink the sink of the generated team
+   */
+  @Benchmark
+  public void generateTeam(GeneratedTeam team, Blackhole sink) {
+    sink.consume(team.fixture.generateTeam());
+  }
+
+  /**
+   * Generates the starting lineup of the team. The skill level of a lineup candidate is
+   * changed first, inside the timed method since it takes only a few nanoseconds, so that
+   * every call generates the lineup instead of keeping the one of the previous call.
+   *
+   * @param team the model
+   * @param sink the sink of the generated lineup
+   */
+  @Benchmark
+  public void generateStartingLineup(GeneratedTeam team, Blackhole sink) {
+    team.fixture.changeLineupCandidate();
+    sink.consume(team.fixture.generateStartingLineup());
+  }
+
+  /**
+   * Sorts the players of a team by last name.
+   *
+   * @param team the team
+   * @param sink the sink of the sorted players
+   */
+  @Benchmark
+  public void getPlayersSortedByLastName(LargeTeam team, Blackhole sink) {
+    sink.consume(team.fixture.getPlayersSortedByLastName());
+  }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+/**
+ * The operations of the soccer team model that the benchmarks time. JMH does not accept
+ * benchmarks in the default package, and a class in a package cannot refer to the classes of
+ * the default package, so the benchmarks reach the model through this interface. The
+ * implementation in the default package is loaded by name when a fixture is created, outside
+ * of the timed code.
+ */
+public interface SoccerTeamFixture {
+
+  /**
+   * Creates a fixture whose random player details come from the given seed.
+   *
+   * @param seed the seed of the random details
+   * @return the fixture
+   * @throws IllegalStateException if the implementation cannot be loaded
+   */
+  public static SoccerTeamFixture create(long seed) throws IllegalStateException {
+    try {
+      return (SoccerTeamFixture) Class.forName("SoccerTeamBenchmarkFixture")
+          .getConstructor(long.class).newInstance(seed);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Fixture cannot be created: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Fills a new model with random players and picks players to remove, spread over the
+   * roster.
+   *
+   * @param size      the number of players
+   * @param removable the number of players to pick for removal
+   */
+  public void fillRoster(int size, int removable);
+
+  /**
+   * Fills a new team, outside of any model, with random players.
+   *
+   * @param size the number of players
+   */
+  public void fillTeam(int size);
+
+  /**
+   * Creates a random player.
+   *
+   * @return the player
+   */
+  public Object newPlayer();
+
+  /**
+   * Adds a random player who is not a duplicate to the model.
+   */
+  public void addPlayer();
+
+  /**
+   * Removes the next player picked for removal from the model.
+   */
+  public void removePlayer();
+
+  /**
+   * Changes the skill level of one of the players the starting lineup is picked from, so that
+   * the lineup kept from the previous call is generated again. It takes a few nanoseconds, so
+   * it can run inside a timed method.
+   */
+  public void changeLineupCandidate();
+
+  /**
+   * Generates the team of the model.
+   *
+   * @return the team
+   */
+  public Object generateTeam();
+
+  /**
+   * Generates the starting lineup of the model.
+   *
+   * @return the starting lineup
+   */
+  public Object generateStartingLineup();
+
+  /**
+   * Sorts the players of the team filled by {@link #fillTeam(int)} by last name.
+   *
+   * @return the sorted players
+   */
+  public Object getPlayersSortedByLastName();
+}
@@ -0,0 +1,162 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * This class runs the operations of a soccer team model asynchronously.
+ * Every operation returns a {@link CompletableFuture} right away. The operations of one model
+ * run one after another on the executor, in the order they were submitted, so callers can
+ * queue roster edits and generation without waiting for each of them. An operation that
+ * fails completes its future exceptionally and does not stop the operations after it.
+ * Listeners of the model are told about changes on the executor's threads.
+ */
+public class AsyncSoccerTeamModel {
+  private final SoccerTeamModel model;
+  private final Executor executor;
+  private final Object lock;
+  private CompletableFuture<?> tail;
+
+  /**
+   * Creates an asynchronous model that runs the operations of the given model on the common
+   * fork join pool.
+   *
+   * @param model the model to run the operations of
+   * @throws IllegalArgumentException if the model is null
+   */
+  public AsyncSoccerTeamModel(SoccerTeamModel model) throws IllegalArgumentException {
+    this(model, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an asynchronous model that runs the operations of the given model on the given
+   * executor.
+   *
+   * @param model    the model to run the operations of
+   * @param executor the executor to run the operations on
+   * @throws IllegalArgumentException if the model or the executor is null
+   */
+  public AsyncSoccerTeamModel(SoccerTeamModel model, Executor executor)
+      throws IllegalArgumentException {
+    if (model == null || executor == null) {
+      throw new IllegalArgumentException("Model and executor cannot be null");
+    }
+    this.model = model;
+    this.executor = executor;
+    this.lock = new Object();
+    this.tail = CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Returns the model whose operations are run. The model must not be changed directly while
+   * operations are pending.
+   *
+   * @return the model
+   */
+  public SoccerTeamModel getModel() {
+    return model;
+  }
+
+  /**
+   * Adds a player to the model after the pending operations.
+   *
+   * @param lastName          the last name of the player
+   * @param firstName         the first name of the player
+   * @param birthdate         the birthdate of the player
+   * @param preferredPosition the preferred position of the player
+   * @param skillLevel        the skill level of the player
+   * @return a future that completes when the player was added, or completes exceptionally
+   *         with the exception of the model
+   */
+  public CompletableFuture<Void> addPlayer(String lastName, String firstName,
+                                           LocalDate birthdate, Position preferredPosition,
+                                           int skillLevel) {
+    return submit(() -> {
+      model.addPlayer(lastName, firstName, birthdate, preferredPosition, skillLevel);
+      return null;
+    });
+  }
+
+  /**
+   * Removes a player from the model after the pending operations.
+   *
+   * @param id the id of the player to remove
+   * @return a future that completes when the player was removed, or completes exceptionally
+   *         with the exception of the model
+   */
+  public CompletableFuture<Void> removePlayer(String id) {
+    return submit(() -> {
+      model.removePlayer(id);
+      return null;
+    });
+  }
+
+  /**
+   * Removes several players from the model at once after the pending operations.
+   *
+   * @param ids the ids of the players to remove
+   * @return a future that completes with the ids that were not found, or completes
+   *         exceptionally with the exception of the model
+   */
+  public CompletableFuture<List<String>> removePlayers(Collection<String> ids) {
+    return submit(() -> model.removePlayers(ids));
+  }
+
+  /**
+   * Generates the team after the pending operations.
+   *
+   * @return a future that completes with a copy of the players of the generated team, or
+   *         completes exceptionally with the exception of the model
+   */
+  public CompletableFuture<List<Player>> generateTeam() {
+    return submit(() -> {
+      model.generateTeam();
+      return new ArrayList<>(model.getTeam().getPlayers());
+    });
+  }
+
+  /**
+   * Generates the starting lineup after the pending operations.
+   *
+   * @return a future that completes with a copy of the generated starting lineup, or
+   *         completes exceptionally with the exception of the model
+   */
+  public CompletableFuture<List<Player>> generateStartingLineup() {
+    return submit(() -> {
+      model.generateStartingLineup();
+      return new ArrayList<>(model.getTeam().getStartingLineup());
+    });
+  }
+
+  /**
+   * Reads the players of the model after the pending operations.
+   *
+   * @return a future that completes with a copy of the players of the model
+   */
+  public CompletableFuture<List<Player>> getPlayers() {
+    return submit(() -> new ArrayList<>(model.getPlayers()));
+  }
+
+  /**
+   * Queues an operation behind the operations submitted before it.
+   *
+   * @param operation the operation
+   * @param <T>       the type of the result of the operation
+   * @return a future that completes with the result of the operation; cancelling or
+   *         completing it does not let the next operation start early
+   */
+  private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+    synchronized (lock) {
+      // run after the previous operation whether it succeeded or failed
+      CompletableFuture<T> next = tail.handleAsync((result, failure) -> operation.get(),
+          executor);
+      tail = next;
+      // the queue waits on the operation itself, never on the future of the caller
+      return next.thenApply(result -> result);
+    }
+  }
+}
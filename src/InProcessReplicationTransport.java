@@ -0,0 +1,30 @@
+/**
+ * This class is a replication transport that hands every batch directly to a standby in the
+ * same process. It stands in for a socket or pipe in tests.
+ */
+public class InProcessReplicationTransport implements ReplicationTransport {
+  private final ReplicationStandby standby;
+
+  /**
+   * Creates a transport that delivers batches to the given standby.
+   *
+   * @param standby the standby
+   * @throws IllegalArgumentException if the standby is null
+   */
+  public InProcessReplicationTransport(ReplicationStandby standby)
+      throws IllegalArgumentException {
+    if (standby == null) {
+      throw new IllegalArgumentException("Standby cannot be null");
+    }
+    this.standby = standby;
+  }
+
+  @Override
+  public void send(byte[] batch) {
+    standby.apply(batch);
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -0,0 +1,179 @@
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class is a soccer team model that records metrics of the calls to another model.
+ * Every call is passed on to the other model; the call count, failure count and latency of
+ * generateTeam, generateStartingLineup, addPlayer, removePlayer and removePlayers are recorded
+ * in a {@link SoccerTeamMetrics}, and the sizes of the roster, the team and the starting
+ * lineup are published after every change.
+ */
+public class InstrumentedSoccerTeamModel implements SoccerTeamModel {
+  private final SoccerTeamModel delegate;
+  private final SoccerTeamMetrics metrics;
+
+  /**
+   * Creates a model that records metrics of the calls to the given model.
+   *
+   * @param delegate the model to pass the calls on to
+   * @throws IllegalArgumentException if the model is null
+   */
+  public InstrumentedSoccerTeamModel(SoccerTeamModel delegate) throws IllegalArgumentException {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    this.delegate = delegate;
+    this.metrics = new SoccerTeamMetrics(delegate);
+  }
+
+  /**
+   * Returns the metrics of this model.
+   *
+   * @return the metrics of this model
+   */
+  public SoccerTeamMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Generates the team on the wrapped model and records the call.
+   *
+   * @throws IllegalStateException if the wrapped model cannot generate the team
+   */
+  @Override
+  public void generateTeam() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.generateTeam();
+      failed = false;
+    } finally {
+      metrics.getGenerateTeam().record(System.nanoTime() - start, failed);
+      metrics.publishSizes();
+    }
+  }
+
+  /**
+   * Generates the starting lineup on the wrapped model and records the call.
+   *
+   * @throws IllegalStateException if the wrapped model cannot generate the starting lineup
+   */
+  @Override
+  public void generateStartingLineup() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.generateStartingLineup();
+      failed = false;
+    } finally {
+      metrics.getGenerateStartingLineup().record(System.nanoTime() - start, failed);
+      metrics.publishSizes();
+    }
+  }
+
+  /**
+   * Adds a player to the wrapped model and records the call.
+   *
+   * @param lastName          the last name of the player
+   * @param firstName         the first name of the player
+   * @param birthdate         the birthdate of the player
+   * @param preferredPosition the preferred position of the player
+   * @param skillLevel        the skill level of the player
+   * @throws IllegalArgumentException if the wrapped model rejects the player
+   */
+  @Override
+  public void addPlayer(String lastName, String firstName, LocalDate birthdate,
+                        Position preferredPosition, int skillLevel) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.addPlayer(lastName, firstName, birthdate, preferredPosition, skillLevel);
+      failed = false;
+    } finally {
+      metrics.getAddPlayer().record(System.nanoTime() - start, failed);
+      metrics.publishSizes();
+    }
+  }
+
+  /**
+   * Removes a player from the wrapped model and records the call.
+   *
+   * @param id the id of the player
+   * @throws IllegalArgumentException if the wrapped model rejects the id as null or empty
+   * @throws NullPointerException     if the wrapped model has no player with the id
+   */
+  @Override
+  public void removePlayer(String id) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.removePlayer(id);
+      failed = false;
+    } finally {
+      metrics.getRemovePlayer().record(System.nanoTime() - start, failed);
+      metrics.publishSizes();
+    }
+  }
+
+  /**
+   * Removes players from the wrapped model and records the call.
+   *
+   * @param ids the ids of the players
+   * @return the ids that were not found
+   * @throws IllegalArgumentException if the wrapped model rejects the ids
+   */
+  @Override
+  public List<String> removePlayers(Collection<String> ids) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<String> notFound = delegate.removePlayers(ids);
+      failed = false;
+      return notFound;
+    } finally {
+      metrics.getRemovePlayers().record(System.nanoTime() - start, failed);
+      metrics.publishSizes();
+    }
+  }
+
+  /**
+   * Returns the players of the wrapped model.
+   *
+   * @return the players
+   */
+  @Override
+  public List<Player> getPlayers() {
+    return delegate.getPlayers();
+  }
+
+  /**
+   * Returns the team of the wrapped model.
+   *
+   * @return the team
+   */
+  @Override
+  public Team getTeam() {
+    return delegate.getTeam();
+  }
+
+  /**
+   * Adds a listener to the wrapped model.
+   *
+   * @param listener the listener
+   */
+  @Override
+  public void addModelListener(SoccerTeamModelListener listener) {
+    delegate.addModelListener(listener);
+  }
+
+  /**
+   * Removes a listener from the wrapped model.
+   *
+   * @param listener the listener
+   */
+  @Override
+  public void removeModelListener(SoccerTeamModelListener listener) {
+    delegate.removeModelListener(listener);
+  }
+}
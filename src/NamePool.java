@@ -0,0 +1,70 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents a pool of canonical name strings.
+ * Registries hold many players with the same first or last name; by storing the canonical
+ * instance from the pool, all of these players share one String.
+ * The pool is safe to use from several threads and holds at most a fixed number of names.
+ * Once it is full, names that are not in the pool yet are returned as they are.
+ */
+public final class NamePool {
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+  private static final NamePool SHARED = new NamePool(DEFAULT_CAPACITY);
+  private final ConcurrentMap<String, String> names;
+  private final int capacity;
+
+  /**
+   * Creates an empty pool that holds at most the given number of names.
+   *
+   * @param capacity the largest number of names in the pool
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public NamePool(int capacity) throws IllegalArgumentException {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.names = new ConcurrentHashMap<>();
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns the pool shared by all players.
+   *
+   * @return the shared pool
+   */
+  public static NamePool shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the canonical instance of a name.
+   *
+   * @param name the name
+   * @return the instance in the pool that is equal to the name, or the name itself if there is
+   *         none and the pool is full
+   */
+  public String canonicalize(String name) {
+    if (name == null) {
+      return null;
+    }
+    String canonical = names.get(name);
+    if (canonical != null) {
+      return canonical;
+    }
+    if (names.size() >= capacity) {
+      return name;
+    }
+    canonical = names.putIfAbsent(name, name);
+    return canonical == null ? name : canonical;
+  }
+
+  /**
+   * Returns the number of names in the pool.
+   *
+   * @return the number of names in the pool
+   */
+  public int size() {
+    return names.size();
+  }
+}
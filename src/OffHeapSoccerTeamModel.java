@@ -0,0 +1,563 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a soccer team model that keeps its players outside of the garbage
+ * collected heap, for registries with millions of players.
+ * Every player is a fixed-size record in a direct buffer; the names are stored as UTF-8 in a
+ * second direct buffer that the records point into. The {@link Player} objects returned by
+ * {@link #getPlayers()} and {@link #getTeam()} are created on demand as read-only copies;
+ * changing them does not change the model.
+ * Unlike {@link SoccerTeamModelImpl}, the registry keeps the order in which players were added.
+ */
+public class OffHeapSoccerTeamModel implements SoccerTeamModel {
+  private static final Position[] POSITIONS = Position.values();
+  private static final int SKILL_LEVEL = 0;
+  private static final int PREFERRED_POSITION = 1;
+  private static final int ASSIGNED_POSITION = 2;
+  private static final int JERSEY_NUMBER = 4;
+  private static final int BIRTH_EPOCH_DAY = 8;
+  private static final int LAST_NAME_OFFSET = 12;
+  private static final int LAST_NAME_LENGTH = 16;
+  private static final int FIRST_NAME_OFFSET = 20;
+  private static final int FIRST_NAME_LENGTH = 24;
+  private static final int ID_MOST_SIGNIFICANT_BITS = 32;
+  private static final int ID_LEAST_SIGNIFICANT_BITS = 40;
+  private static final int RECORD_SIZE = 48;
+  private static final int INITIAL_CAPACITY = 1024;
+  private ByteBuffer records;
+  private ByteBuffer names;
+  private int size;
+  private int unusedNameBytes;
+  private int[] team;
+  private int[] startingLineup;
+  private final List<SoccerTeamModelListener> listeners;
+
+  /**
+   * Creates a soccer team model with no players.
+   */
+  public OffHeapSoccerTeamModel() {
+    this.records = ByteBuffer.allocateDirect(INITIAL_CAPACITY * RECORD_SIZE);
+    this.names = ByteBuffer.allocateDirect(INITIAL_CAPACITY * 16);
+    this.team = new int[0];
+    this.startingLineup = new int[0];
+    this.listeners = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Adds a player to the soccer team model.
+   *
+   * @param lastName          the last name of the player
+   * @param firstName         the first name of the player
+   * @param birthdate         the birthdate of the player
+   * @param preferredPosition the preferred position of the player
+   * @param skillLevel        the skill level of the player
+   * @throws IllegalArgumentException if the player details are invalid
+   */
+  @Override
+  public void addPlayer(String lastName, String firstName, LocalDate birthdate,
+                        Position preferredPosition, int skillLevel) {
+    // validate the player details the same way as a heap player
+    Player player = new Player(lastName, firstName, birthdate, preferredPosition, skillLevel);
+    UUID id = UUID.randomUUID();
+
+    ensureRecordCapacity(size + 1);
+    int record = size * RECORD_SIZE;
+    records.put(record + SKILL_LEVEL, (byte) skillLevel);
+    records.put(record + PREFERRED_POSITION, (byte) preferredPosition.ordinal());
+    records.put(record + ASSIGNED_POSITION, (byte) -1);
+    records.putInt(record + JERSEY_NUMBER, 0);
+    records.putInt(record + BIRTH_EPOCH_DAY, (int) birthdate.toEpochDay());
+    putName(record + LAST_NAME_OFFSET, player.getLastName());
+    putName(record + FIRST_NAME_OFFSET, player.getFirstName());
+    records.putLong(record + ID_MOST_SIGNIFICANT_BITS, id.getMostSignificantBits());
+    records.putLong(record + ID_LEAST_SIGNIFICANT_BITS, id.getLeastSignificantBits());
+    size++;
+    if (!listeners.isEmpty()) {
+      Player added = view(size - 1);
+      notifyListeners(listener -> listener.playerAdded(added));
+    }
+  }
+
+  /**
+   * Removes a player from the soccer team model.
+   *
+   * @param id the ID of the player to remove
+   * @throws IllegalArgumentException if the ID is null or empty
+   * @throws NullPointerException     if the player with the given ID is not found
+   */
+  @Override
+  public void removePlayer(String id) throws IllegalArgumentException {
+    if (id == null || id.trim().isEmpty()) {
+      throw new IllegalArgumentException("ID cannot be null or empty");
+    }
+    int index = indexOf(id);
+    if (index < 0) {
+      throw new NullPointerException("Player with ID " + id + " not found.");
+    }
+    Player removed = listeners.isEmpty() ? null : view(index);
+
+    // shift the later records down and fix the team and lineup indexes
+    unusedNameBytes += records.getInt(index * RECORD_SIZE + LAST_NAME_LENGTH)
+        + records.getInt(index * RECORD_SIZE + FIRST_NAME_LENGTH);
+    ByteBuffer later = records.duplicate();
+    later.position((index + 1) * RECORD_SIZE).limit(size * RECORD_SIZE);
+    records.duplicate().position(index * RECORD_SIZE).put(later);
+    size--;
+    team = removeIndex(team, index);
+    startingLineup = removeIndex(startingLineup, index);
+    if (unusedNameBytes > names.position() / 2) {
+      compactNames();
+    }
+
+    if (removed != null) {
+      notifyListeners(listener -> listener.playerRemoved(removed));
+    }
+  }
+
+  /**
+   * Removes several players from the soccer team model at once. The records are scanned once
+   * and the remaining records are moved down into the gaps as the scan goes.
+   *
+   * @param ids the IDs of the players to remove
+   * @return the IDs that were not found, in the order they were given
+   * @throws IllegalArgumentException if the IDs are null
+   */
+  @Override
+  public List<String> removePlayers(Collection<String> ids) throws IllegalArgumentException {
+    if (ids == null) {
+      throw new IllegalArgumentException("IDs cannot be null");
+    }
+    Set<UUID> wanted = new HashSet<>();
+    for (String id : ids) {
+      UUID uuid = parseId(id);
+      if (uuid != null) {
+        wanted.add(uuid);
+      }
+    }
+
+    // keep the records that are not removed, moving each down to the next free slot
+    Set<UUID> found = new HashSet<>();
+    List<Player> removed = new ArrayList<>();
+    int[] newIndexes = new int[size];
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      int record = i * RECORD_SIZE;
+      UUID uuid = new UUID(records.getLong(record + ID_MOST_SIGNIFICANT_BITS),
+          records.getLong(record + ID_LEAST_SIGNIFICANT_BITS));
+      if (wanted.contains(uuid)) {
+        found.add(uuid);
+        if (!listeners.isEmpty()) {
+          removed.add(view(i));
+        }
+        unusedNameBytes += records.getInt(record + LAST_NAME_LENGTH)
+            + records.getInt(record + FIRST_NAME_LENGTH);
+        newIndexes[i] = -1;
+      } else {
+        if (kept != i) {
+          ByteBuffer source = records.duplicate();
+          source.position(record).limit(record + RECORD_SIZE);
+          records.duplicate().position(kept * RECORD_SIZE).put(source);
+        }
+        newIndexes[i] = kept++;
+      }
+    }
+    if (kept < size) {
+      size = kept;
+      team = remapIndexes(team, newIndexes);
+      startingLineup = remapIndexes(startingLineup, newIndexes);
+      if (unusedNameBytes > names.position() / 2) {
+        compactNames();
+      }
+    }
+
+    for (Player player : removed) {
+      notifyListeners(listener -> listener.playerRemoved(player));
+    }
+    List<String> notFound = new ArrayList<>();
+    for (String id : ids) {
+      UUID uuid = parseId(id);
+      if (uuid == null || !found.contains(uuid)) {
+        notFound.add(id);
+      }
+    }
+    return notFound;
+  }
+
+  /**
+   * Returns the players in the soccer team model, in the order they were added.
+   * The list reads the records on demand and cannot be changed.
+   *
+   * @return the players in the soccer team model
+   */
+  @Override
+  public List<Player> getPlayers() {
+    return new AbstractList<Player>() {
+      @Override
+      public Player get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return view(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Generates a team of the players with the highest skill levels and assigns jersey numbers.
+   * The records are scanned twice: once to count the players of every skill level and once to
+   * pick the team.
+   *
+   * @throws IllegalStateException if size of players is less than the 10.
+   */
+  @Override
+  public void generateTeam() throws IllegalStateException {
+    if (size < SoccerTeamModelImpl.TEAM_LOWER_LIMIT) {
+      throw new IllegalStateException(" Team cannot be created unless more players are added");
+    }
+    startingLineup = new int[0];
+    int teamSize = Math.min(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, size);
+
+    // find the lowest skill level that makes the team, and how many of it fit
+    int[] playersWithSkill = new int[6];
+    for (int i = 0; i < size; i++) {
+      playersWithSkill[records.get(i * RECORD_SIZE + SKILL_LEVEL)]++;
+    }
+    int lowestSkill = 5;
+    int places = teamSize;
+    while (places > playersWithSkill[lowestSkill]) {
+      places -= playersWithSkill[lowestSkill];
+      lowestSkill--;
+    }
+
+    // pick the team, strongest first and in the order the players were added
+    int[][] picked = new int[6][teamSize];
+    int[] pickedWithSkill = new int[6];
+    for (int i = 0; i < size; i++) {
+      int record = i * RECORD_SIZE;
+      int skill = records.get(record + SKILL_LEVEL);
+      if (skill > lowestSkill || (skill == lowestSkill && places-- > 0)) {
+        picked[skill][pickedWithSkill[skill]++] = i;
+      } else if (records.getInt(record + JERSEY_NUMBER) != 0) {
+        records.putInt(record + JERSEY_NUMBER, 0);
+        fireJerseyAssigned(i);
+      }
+    }
+    team = new int[teamSize];
+    int next = 0;
+    for (int skill = 5; skill >= 1; skill--) {
+      System.arraycopy(picked[skill], 0, team, next, pickedWithSkill[skill]);
+      next += pickedWithSkill[skill];
+    }
+
+    // keep the jersey numbers the team already wears and hand out the free ones
+    boolean[] taken = new boolean[SoccerTeamModelImpl.TEAM_UPPER_LIMIT + 1];
+    for (int player : team) {
+      taken[records.getInt(player * RECORD_SIZE + JERSEY_NUMBER)] = true;
+    }
+    int jerseyNumber = 1;
+    for (int player : team) {
+      if (records.getInt(player * RECORD_SIZE + JERSEY_NUMBER) == 0) {
+        while (taken[jerseyNumber]) {
+          jerseyNumber++;
+        }
+        taken[jerseyNumber] = true;
+        records.putInt(player * RECORD_SIZE + JERSEY_NUMBER, jerseyNumber);
+        fireJerseyAssigned(player);
+      }
+    }
+  }
+
+  /**
+   * Generates a starting lineup from the first players of the team, giving players their
+   * preferred position where possible.
+   */
+  @Override
+  public void generateStartingLineup() {
+    if (team.length == 0) {
+      generateTeam();
+    }
+    int[] openPositions = {SoccerTeamModelImpl.NUMBER_OF_GOALIE,
+        SoccerTeamModelImpl.NUMBER_OF_DEFENDERS, SoccerTeamModelImpl.NUMBER_OF_MIDFIELDERS,
+        SoccerTeamModelImpl.NUMBER_OF_FORWARD};
+    int[] lineup = Arrays.copyOf(team, Math.min(SoccerTeamModelImpl.LINEUP_LIMIT, team.length));
+    int[] assigned = new int[lineup.length];
+    Arrays.fill(assigned, -1);
+
+    // assign preferred positions first, then fill the open positions in order
+    for (int i = 0; i < lineup.length; i++) {
+      int preferred = records.get(lineup[i] * RECORD_SIZE + PREFERRED_POSITION);
+      if (openPositions[preferred] > 0) {
+        openPositions[preferred]--;
+        assigned[i] = preferred;
+      }
+    }
+    int position = 0;
+    for (int i = 0; i < lineup.length; i++) {
+      if (assigned[i] < 0) {
+        while (openPositions[position] == 0) {
+          position++;
+        }
+        openPositions[position]--;
+        assigned[i] = position;
+      }
+    }
+    for (int i = 0; i < lineup.length; i++) {
+      records.put(lineup[i] * RECORD_SIZE + ASSIGNED_POSITION, (byte) assigned[i]);
+      if (!listeners.isEmpty()) {
+        Player player = view(lineup[i]);
+        notifyListeners(listener -> listener.positionAssigned(player));
+      }
+    }
+    startingLineup = lineup;
+    if (!listeners.isEmpty()) {
+      List<Player> players = new ArrayList<>();
+      for (int player : lineup) {
+        players.add(view(player));
+      }
+      notifyListeners(listener -> listener.lineupGenerated(players));
+    }
+  }
+
+  /**
+   * Returns a team built from the records of the team and the starting lineup.
+   * Changing the returned team does not change the model.
+   *
+   * @return the team
+   */
+  @Override
+  public Team getTeam() {
+    Team result = new Team();
+    for (int player : team) {
+      result.addPlayer(view(player));
+    }
+    List<Player> lineup = new ArrayList<>();
+    for (int player : startingLineup) {
+      lineup.add(view(player));
+    }
+    result.setStartingLineup(lineup);
+    return result;
+  }
+
+  @Override
+  public void addModelListener(SoccerTeamModelListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    listeners.add(listener);
+  }
+
+  @Override
+  public void removeModelListener(SoccerTeamModelListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Creates a player from a record.
+   *
+   * @param index the index of the record
+   * @return the player
+   */
+  private Player view(int index) {
+    int record = index * RECORD_SIZE;
+    int jerseyNumber = records.getInt(record + JERSEY_NUMBER);
+    int assignedPosition = records.get(record + ASSIGNED_POSITION);
+    return new Player(
+        new UUID(records.getLong(record + ID_MOST_SIGNIFICANT_BITS),
+            records.getLong(record + ID_LEAST_SIGNIFICANT_BITS)),
+        getName(record + LAST_NAME_OFFSET), getName(record + FIRST_NAME_OFFSET),
+        records.getInt(record + BIRTH_EPOCH_DAY),
+        POSITIONS[records.get(record + PREFERRED_POSITION)],
+        records.get(record + SKILL_LEVEL),
+        jerseyNumber == 0 ? null : jerseyNumber,
+        assignedPosition < 0 ? null : POSITIONS[assignedPosition]);
+  }
+
+  /**
+   * Returns the index of the record with the given ID.
+   *
+   * @param id the ID of a player
+   * @return the index of the record, or -1 if there is none
+   */
+  private int indexOf(String id) {
+    UUID uuid = parseId(id);
+    if (uuid == null) {
+      return -1;
+    }
+    long mostSignificantBits = uuid.getMostSignificantBits();
+    long leastSignificantBits = uuid.getLeastSignificantBits();
+    for (int i = 0; i < size; i++) {
+      int record = i * RECORD_SIZE;
+      if (records.getLong(record + ID_MOST_SIGNIFICANT_BITS) == mostSignificantBits
+          && records.getLong(record + ID_LEAST_SIGNIFICANT_BITS) == leastSignificantBits) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Parses a player ID.
+   *
+   * @param id the ID of a player
+   * @return the parsed ID, or null if the ID is not a valid player ID
+   */
+  private static UUID parseId(String id) {
+    if (id == null) {
+      return null;
+    }
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Tells the listeners that the jersey number of a player was assigned or released.
+   *
+   * @param index the index of the record of the player
+   */
+  private void fireJerseyAssigned(int index) {
+    if (!listeners.isEmpty()) {
+      Player player = view(index);
+      notifyListeners(listener -> listener.jerseyAssigned(player));
+    }
+  }
+
+  /**
+   * Tells every listener about a change. A listener that throws does not stop the others from
+   * being told, and never interrupts a change to the records half way; its exception is
+   * passed to the uncaught exception handler of the current thread.
+   *
+   * @param notification the call to make on each listener
+   */
+  private void notifyListeners(Consumer<SoccerTeamModelListener> notification) {
+    for (SoccerTeamModelListener listener : listeners) {
+      try {
+        notification.accept(listener);
+      } catch (RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+  }
+
+  /**
+   * Removes a record index from a list of indexes and moves the later indexes down by one.
+   *
+   * @param indexes the list of indexes
+   * @param removed the removed record index
+   * @return the new list of indexes
+   */
+  private static int[] removeIndex(int[] indexes, int removed) {
+    int[] result = new int[indexes.length];
+    int length = 0;
+    for (int index : indexes) {
+      if (index != removed) {
+        result[length++] = index > removed ? index - 1 : index;
+      }
+    }
+    return Arrays.copyOf(result, length);
+  }
+
+  /**
+   * Maps a list of record indexes to the indexes after a bulk removal, dropping the removed
+   * records.
+   *
+   * @param indexes    the list of indexes
+   * @param newIndexes the new index of every old record, or -1 if it was removed
+   * @return the new list of indexes
+   */
+  private static int[] remapIndexes(int[] indexes, int[] newIndexes) {
+    int[] result = new int[indexes.length];
+    int length = 0;
+    for (int index : indexes) {
+      if (newIndexes[index] >= 0) {
+        result[length++] = newIndexes[index];
+      }
+    }
+    return Arrays.copyOf(result, length);
+  }
+
+  /**
+   * Stores a name and writes its offset and length into a record.
+   *
+   * @param field where the offset goes; the length goes into the next int
+   * @param name  the name
+   */
+  private void putName(int field, String name) {
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    if (names.remaining() < bytes.length) {
+      ByteBuffer grown =
+          ByteBuffer.allocateDirect(Math.max(names.capacity() * 2, names.position() + bytes.length));
+      names.flip();
+      grown.put(names);
+      names = grown;
+    }
+    records.putInt(field, names.position());
+    records.putInt(field + Integer.BYTES, bytes.length);
+    names.put(bytes);
+  }
+
+  /**
+   * Reads a name whose offset and length are stored in a record.
+   *
+   * @param field where the offset is; the length is in the next int
+   * @return the name
+   */
+  private String getName(int field) {
+    byte[] bytes = new byte[records.getInt(field + Integer.BYTES)];
+    names.duplicate().position(records.getInt(field)).get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Copies the names of the current records into a new buffer, dropping the names of removed
+   * players.
+   */
+  private void compactNames() {
+    ByteBuffer old = names;
+    names = ByteBuffer.allocateDirect(old.capacity());
+    for (int i = 0; i < size; i++) {
+      for (int field : new int[] {LAST_NAME_OFFSET, FIRST_NAME_OFFSET}) {
+        int record = i * RECORD_SIZE + field;
+        int offset = records.getInt(record);
+        int length = records.getInt(record + Integer.BYTES);
+        records.putInt(record, names.position());
+        names.put(old.duplicate().position(offset).limit(offset + length));
+      }
+    }
+    unusedNameBytes = 0;
+  }
+
+  /**
+   * Grows the record buffer so that it holds at least the given number of records.
+   *
+   * @param capacity the number of records
+   */
+  private void ensureRecordCapacity(int capacity) {
+    if (capacity * RECORD_SIZE > records.capacity()) {
+      ByteBuffer grown = ByteBuffer.allocateDirect(
+          Math.max(records.capacity() * 2, capacity * RECORD_SIZE));
+      grown.put(records.duplicate().position(0).limit(size * RECORD_SIZE));
+      records = grown;
+    }
+  }
+}
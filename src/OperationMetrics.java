@@ -0,0 +1,80 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records the call count, failure count and latencies of one soccer team model
+ * operation.
+ */
+public class OperationMetrics implements OperationMetricsMBean {
+  private final String name;
+  private final LatencyHistogram latencies;
+  private final LongAdder failures;
+
+  /**
+   * Creates empty metrics for the operation with the given name.
+   *
+   * @param name the name of the operation
+   */
+  public OperationMetrics(String name) {
+    this.name = name;
+    this.latencies = new LatencyHistogram();
+    this.failures = new LongAdder();
+  }
+
+  /**
+   * Returns the name of the operation.
+   *
+   * @return the name of the operation
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Records a call of the operation.
+   *
+   * @param nanos  the latency of the call in nanoseconds
+   * @param failed whether the call threw an exception
+   */
+  public void record(long nanos, boolean failed) {
+    latencies.record(nanos);
+    if (failed) {
+      failures.increment();
+    }
+  }
+
+  @Override
+  public long getCount() {
+    return latencies.getCount();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return failures.sum();
+  }
+
+  @Override
+  public double getMeanLatencyNanos() {
+    return latencies.getMeanNanos();
+  }
+
+  @Override
+  public long getP50LatencyNanos() {
+    return latencies.getPercentileNanos(0.5);
+  }
+
+  @Override
+  public long getP99LatencyNanos() {
+    return latencies.getPercentileNanos(0.99);
+  }
+
+  @Override
+  public long getMaxLatencyNanos() {
+    return latencies.getMaxNanos();
+  }
+
+  @Override
+  public void reset() {
+    latencies.reset();
+    failures.reset();
+  }
+}
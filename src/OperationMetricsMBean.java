@@ -0,0 +1,52 @@
+/**
+ * The management interface of the metrics of one soccer team model operation.
+ */
+public interface OperationMetricsMBean {
+
+  /**
+   * Returns the number of calls of the operation, including failed calls.
+   *
+   * @return the number of calls
+   */
+  public long getCount();
+
+  /**
+   * Returns the number of calls of the operation that threw an exception.
+   *
+   * @return the number of failed calls
+   */
+  public long getFailureCount();
+
+  /**
+   * Returns the mean latency of the operation.
+   *
+   * @return the mean latency in nanoseconds
+   */
+  public double getMeanLatencyNanos();
+
+  /**
+   * Returns the median latency of the operation.
+   *
+   * @return the median latency in nanoseconds
+   */
+  public long getP50LatencyNanos();
+
+  /**
+   * Returns the 99th percentile latency of the operation.
+   *
+   * @return the 99th percentile latency in nanoseconds
+   */
+  public long getP99LatencyNanos();
+
+  /**
+   * Returns the largest latency of the operation.
+   *
+   * @return the largest latency in nanoseconds
+   */
+  public long getMaxLatencyNanos();
+
+  /**
+   * Clears the metrics of the operation.
+   */
+  public void reset();
+}
@@ -5,16 +5,25 @@ import java.util.UUID;
 /**
  * This class represents a player in a soccer team.
  * A player has a last name, a first name, a birthdate, a preferred position and a skill level.
+ * To keep registries of many players small, the birthdate is stored as an epoch day, the
+ * positions, skill level and jersey number as bytes and the id as a UUID rather than its
+ * 36 character string. The UUID is kept, not rebuilt, since teams and registries look players
+ * up by it.
+ * Names are taken from the shared {@link NamePool}, so players with the same name share it.
  */
 public class Player {
+  private static final Position[] POSITIONS = Position.values();
+  private static final byte NO_POSITION = -1;
+  private static final byte NO_JERSEY_NUMBER = 0;
   private String lastName;
   private String firstName;
-  private LocalDate birthdate;
-  private Position preferredPosition;
-  private int skillLevel;
-  private Integer jerseyNumber;
-  private Position assignedPosition;
-  private final String id;
+  private int birthEpochDay;
+  private byte preferredPosition;
+  private byte skillLevel;
+  private byte jerseyNumber;
+  private byte assignedPosition;
+  private SoccerTeamModelImpl registry;
+  private final UUID id;
 
   /**
    * Creates a player with the given last name, first name, birthdate, preferred position and skill
@@ -33,7 +42,37 @@ public class Player {
     setBirthdate(birthdate);
     setPreferredPosition(preferredPosition);
     setSkillLevel(skillLevel);
-    this.id = UUID.randomUUID().toString();
+    this.jerseyNumber = NO_JERSEY_NUMBER;
+    this.assignedPosition = NO_POSITION;
+    this.id = UUID.randomUUID();
+  }
+
+  /**
+   * Restores a player that was created and validated before, for example from storage.
+   * The details are not validated again, so that a player who has since turned 10 can still
+   * be restored.
+   *
+   * @param id                the unique identifier of the player
+   * @param lastName          the last name of the player
+   * @param firstName         the first name of the player
+   * @param birthEpochDay     the birthdate of the player as an epoch day
+   * @param preferredPosition the preferred position of the player
+   * @param skillLevel        the skill level of the player
+   * @param jerseyNumber      the jersey number of the player, or null
+   * @param assignedPosition  the assigned position of the player, or null
+   */
+  Player(UUID id, String lastName, String firstName, int birthEpochDay,
+         Position preferredPosition, int skillLevel, Integer jerseyNumber,
+         Position assignedPosition) {
+    this.lastName = NamePool.shared().canonicalize(lastName);
+    this.firstName = NamePool.shared().canonicalize(firstName);
+    this.birthEpochDay = birthEpochDay;
+    this.preferredPosition = (byte) preferredPosition.ordinal();
+    this.skillLevel = (byte) skillLevel;
+    this.jerseyNumber = jerseyNumber == null ? NO_JERSEY_NUMBER : jerseyNumber.byteValue();
+    this.assignedPosition =
+        assignedPosition == null ? NO_POSITION : (byte) assignedPosition.ordinal();
+    this.id = id;
   }
 
 
@@ -47,16 +86,23 @@ public class Player {
   }
 
   /**
-   * Sets the last name of the player.
+   * Sets the last name of the player. A registered player is registered again under the new
+   * name.
    *
    * @param lastName the last name of the player
-   * @throws IllegalArgumentException if the last name is null or empty
+   * @throws IllegalArgumentException if the last name is null or empty, or if the player is
+   *                                  registered and another registered player has the new
+   *                                  name and the same birthdate
    */
   public void setLastName(String lastName) throws IllegalArgumentException {
     if (lastName == null || lastName.trim().isEmpty()) {
       throw new IllegalArgumentException("Last name cannot be null or empty");
     }
-    this.lastName = lastName.trim();
+    String name = NamePool.shared().canonicalize(lastName.trim());
+    if (registry != null) {
+      registry.rename(this, name, firstName);
+    }
+    this.lastName = name;
   }
 
   /**
@@ -69,16 +115,23 @@ public class Player {
   }
 
   /**
-   * Sets the first name of the player.
+   * Sets the first name of the player. A registered player is registered again under the new
+   * name.
    *
    * @param firstName the first name of the player
-   * @throws IllegalArgumentException if the first name is null or empty
+   * @throws IllegalArgumentException if the first name is null or empty, or if the player is
+   *                                  registered and another registered player has the new
+   *                                  name and the same birthdate
    */
   public void setFirstName(String firstName) throws IllegalArgumentException {
     if (firstName == null || firstName.trim().isEmpty()) {
       throw new IllegalArgumentException("First name cannot be null or empty");
     }
-    this.firstName = firstName.trim();
+    String name = NamePool.shared().canonicalize(firstName.trim());
+    if (registry != null) {
+      registry.rename(this, lastName, name);
+    }
+    this.firstName = name;
   }
 
   /**
@@ -87,24 +140,40 @@ public class Player {
    * @return the birthdate of the player
    */
   public LocalDate getBirthdate() {
-    return birthdate;
+    return LocalDate.ofEpochDay(birthEpochDay);
   }
 
   /**
-   * Sets the birthdate of the player.
+   * Returns the birthdate of the player as the number of days since 1970-01-01.
+   *
+   * @return the birthdate of the player as an epoch day
+   */
+  int getBirthEpochDay() {
+    return birthEpochDay;
+  }
+
+  /**
+   * Sets the birthdate of the player. The birthdate of a registered player cannot be changed,
+   * because the registry keeps its players ordered by birthdate; remove the player, change
+   * the birthdate and add the player again instead.
    *
    * @param birthdate the birthdate of the player
    * @throws IllegalArgumentException if the birthdate is null or in the future,
    *                                   or if the player's age is greater than 10 years
+   * @throws IllegalStateException    if the player is registered in a soccer team model
    */
-  public void setBirthdate(LocalDate birthdate) throws IllegalArgumentException {
+  public void setBirthdate(LocalDate birthdate)
+      throws IllegalArgumentException, IllegalStateException {
+    if (registry != null) {
+      throw new IllegalStateException("Birthdate of a registered player cannot be changed");
+    }
     if (birthdate == null || birthdate.isAfter(LocalDate.now())) {
       throw new IllegalArgumentException("Birthdate cannot be null or in the future");
     }
     if (Period.between(birthdate, LocalDate.now()).getYears() >= 10) {
       throw new IllegalArgumentException("Player's age must be less than 10 years");
     }
-    this.birthdate = birthdate;
+    this.birthEpochDay = (int) birthdate.toEpochDay();
   }
 
 
@@ -127,7 +196,7 @@ public class Player {
     if (skillLevel < 1 || skillLevel > 5) {
       throw new IllegalArgumentException("Skill level must be between 1 and 5.");
     }
-    this.skillLevel = skillLevel;
+    this.skillLevel = (byte) skillLevel;
   }
 
   /**
@@ -136,7 +205,7 @@ public class Player {
    * @return the jersey number of the player
    */
   public Integer getJerseyNumber() {
-    return jerseyNumber;
+    return jerseyNumber == NO_JERSEY_NUMBER ? null : Integer.valueOf(jerseyNumber);
   }
 
   /**
@@ -149,7 +218,14 @@ public class Player {
     if (jerseyNumber == null || jerseyNumber < 1 || jerseyNumber > 20) {
       throw new IllegalArgumentException("Jersey number cannot be null or negative");
     }
-    this.jerseyNumber = jerseyNumber;
+    this.jerseyNumber = jerseyNumber.byteValue();
+  }
+
+  /**
+   * Releases the jersey number of the player so that it can be assigned to someone else.
+   */
+  public void clearJerseyNumber() {
+    this.jerseyNumber = NO_JERSEY_NUMBER;
   }
 
   /**
@@ -158,7 +234,7 @@ public class Player {
    * @return the preferred position of the player
    */
   public Position getPreferredPosition() {
-    return preferredPosition;
+    return POSITIONS[preferredPosition];
   }
 
   /**
@@ -171,7 +247,7 @@ public class Player {
     if (preferredPosition == null) {
       throw new IllegalArgumentException("Preferred position cannot be null");
     }
-    this.preferredPosition = preferredPosition;
+    this.preferredPosition = (byte) preferredPosition.ordinal();
   }
 
   /**
@@ -180,7 +256,7 @@ public class Player {
    * @return the assigned position of the player
    */
   public Position getAssignedPosition() {
-    return assignedPosition;
+    return assignedPosition == NO_POSITION ? null : POSITIONS[assignedPosition];
   }
 
   /**
@@ -193,7 +269,16 @@ public class Player {
     if (assignedPosition == null) {
       throw new IllegalArgumentException("Assigned position cannot be null");
     }
-    this.assignedPosition = assignedPosition;
+    this.assignedPosition = (byte) assignedPosition.ordinal();
+  }
+
+  /**
+   * Marks the player as registered in, or removed from, a soccer team model.
+   *
+   * @param registry the model the player is registered in, or null if the player was removed
+   */
+  void setRegistry(SoccerTeamModelImpl registry) {
+    this.registry = registry;
   }
 
   /**
@@ -202,9 +287,40 @@ public class Player {
    * @return the unique identifier of the player
    */
   public String getId() {
+    return id.toString();
+  }
+
+  /**
+   * Returns the unique identifier of the player as a UUID.
+   *
+   * @return the unique identifier of the player
+   */
+  UUID getUuid() {
     return id;
   }
 
+  /**
+   * Returns whether the player has the given unique identifier, without building the
+   * identifier string.
+   *
+   * @param id the unique identifier
+   * @return true if the player has the identifier
+   */
+  boolean hasId(UUID id) {
+    return this.id.equals(id);
+  }
+
+  /**
+   * Compares the unique identifier of the player with the one of another player.
+   *
+   * @param other the other player
+   * @return a negative number, zero or a positive number if the identifier of this player is
+   *         less than, equal to or greater than the identifier of the other player
+   */
+  int compareId(Player other) {
+    return id.compareTo(other.id);
+  }
+
   /**
    * Returns a string representation of the player.
    *
@@ -215,12 +331,12 @@ public class Player {
     return "Player{"
         + "lastName: '" + lastName + '\''
         + ", firstName: '" + firstName + '\''
-        + ", birthdate: " + birthdate
-        + ", preferredPosition: " + preferredPosition
+        + ", birthdate: " + getBirthdate()
+        + ", preferredPosition: " + getPreferredPosition()
         + ", skillLevel: " + skillLevel
-        + ", jerseyNumber: " + jerseyNumber
-        + ", assignedPosition: " + assignedPosition
-        + ", id: '" + id + '\''
+        + ", jerseyNumber: " + getJerseyNumber()
+        + ", assignedPosition: " + getAssignedPosition()
+        + ", id: '" + getId() + '\''
         + '}';
   }
 }
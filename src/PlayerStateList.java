@@ -0,0 +1,306 @@
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is a list of player states that never changes. Adding, replacing or removing a
+ * state makes a new list that shares all but a few nodes with the old one, so the versions of
+ * a {@link VersionedSoccerTeamModel} cost memory for their changes only, not for the whole
+ * roster.
+ * The states are ordered by a key, such as the order in which the players were registered.
+ * The list is a treap: a search tree by key that is balanced by priorities derived from the
+ * keys, so a change or a look up takes a time that grows with the logarithm of the size.
+ */
+final class PlayerStateList extends AbstractList<RosterSnapshot.PlayerState> {
+  static final PlayerStateList EMPTY = new PlayerStateList(null);
+  private final Node root;
+
+  /**
+   * A node of the tree. Nodes are shared between lists, so they never change.
+   */
+  private static final class Node {
+    private final long key;
+    private final int priority;
+    private final RosterSnapshot.PlayerState state;
+    private final Node left;
+    private final Node right;
+    private final int size;
+
+    Node(long key, int priority, RosterSnapshot.PlayerState state, Node left, Node right) {
+      this.key = key;
+      this.priority = priority;
+      this.state = state;
+      this.left = left;
+      this.right = right;
+      this.size = 1 + sizeOf(left) + sizeOf(right);
+    }
+
+    /**
+     * Returns a copy of this node with other children.
+     *
+     * @param left  the left child
+     * @param right the right child
+     * @return the copy, or this node if the children are the same
+     */
+    Node withChildren(Node left, Node right) {
+      if (left == this.left && right == this.right) {
+        return this;
+      }
+      return new Node(key, priority, state, left, right);
+    }
+  }
+
+  /**
+   * Creates a list with the given tree.
+   *
+   * @param root the root of the tree, or null for an empty list
+   */
+  private PlayerStateList(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns a list in which the state with the given key is added, or replaced if the key is
+   * already in the list.
+   *
+   * @param key   the key
+   * @param state the state
+   * @return the new list, or this list if it already holds the state under the key
+   * @throws IllegalArgumentException if the state is null
+   */
+  PlayerStateList with(long key, RosterSnapshot.PlayerState state)
+      throws IllegalArgumentException {
+    if (state == null) {
+      throw new IllegalArgumentException("State cannot be null");
+    }
+    Node newRoot = insert(root, key, priorityOf(key), state);
+    return newRoot == root ? this : new PlayerStateList(newRoot);
+  }
+
+  /**
+   * Returns a list without the state with the given key.
+   *
+   * @param key the key
+   * @return the new list, or this list if the key is not in the list
+   */
+  PlayerStateList without(long key) {
+    Node newRoot = remove(root, key);
+    return newRoot == root ? this : new PlayerStateList(newRoot);
+  }
+
+  /**
+   * Returns the state with the given key.
+   *
+   * @param key the key
+   * @return the state, or null if the key is not in the list
+   */
+  RosterSnapshot.PlayerState find(long key) {
+    Node node = find(root, key);
+    return node == null ? null : node.state;
+  }
+
+  /**
+   * Returns the state at the given position, in the order of the keys.
+   *
+   * @param index the position
+   * @return the state
+   * @throws IndexOutOfBoundsException if there is no state at the position
+   */
+  @Override
+  public RosterSnapshot.PlayerState get(int index) throws IndexOutOfBoundsException {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index " + index + " is out of bounds");
+    }
+    Node node = root;
+    while (true) {
+      int leftSize = sizeOf(node.left);
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index == leftSize) {
+        return node.state;
+      } else {
+        index -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of states.
+   *
+   * @return the number of states
+   */
+  @Override
+  public int size() {
+    return sizeOf(root);
+  }
+
+  /**
+   * Returns an iterator over the states in the order of the keys, which walks the tree
+   * instead of looking up every position.
+   *
+   * @return the iterator
+   */
+  @Override
+  public Iterator<RosterSnapshot.PlayerState> iterator() {
+    Deque<Node> path = new ArrayDeque<>();
+    pushLeft(path, root);
+    return new Iterator<RosterSnapshot.PlayerState>() {
+      @Override
+      public boolean hasNext() {
+        return !path.isEmpty();
+      }
+
+      @Override
+      public RosterSnapshot.PlayerState next() {
+        if (path.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        Node node = path.pop();
+        pushLeft(path, node.right);
+        return node.state;
+      }
+    };
+  }
+
+  /**
+   * Pushes a node and its left descendants on the path of an iterator.
+   *
+   * @param path the path
+   * @param node the node, or null
+   */
+  private static void pushLeft(Deque<Node> path, Node node) {
+    while (node != null) {
+      path.push(node);
+      node = node.left;
+    }
+  }
+
+  /**
+   * Adds or replaces a state in a tree.
+   *
+   * @param node     the root of the tree, or null
+   * @param key      the key
+   * @param priority the priority of the key
+   * @param state    the state
+   * @return the root of the new tree
+   */
+  private static Node insert(Node node, long key, int priority,
+                             RosterSnapshot.PlayerState state) {
+    if (node == null) {
+      return new Node(key, priority, state, null, null);
+    }
+    if (key == node.key) {
+      return node.state == state ? node : new Node(key, priority, state, node.left, node.right);
+    }
+    if (priority > node.priority) {
+      // the new node belongs above this one; the key cannot be below a node of a lower
+      // priority, so it is not in the tree yet
+      Node[] parts = split(node, key);
+      return new Node(key, priority, state, parts[0], parts[1]);
+    }
+    if (key < node.key) {
+      return node.withChildren(insert(node.left, key, priority, state), node.right);
+    }
+    return node.withChildren(node.left, insert(node.right, key, priority, state));
+  }
+
+  /**
+   * Removes a state from a tree.
+   *
+   * @param node the root of the tree, or null
+   * @param key  the key
+   * @return the root of the new tree
+   */
+  private static Node remove(Node node, long key) {
+    if (node == null) {
+      return null;
+    }
+    if (key == node.key) {
+      return merge(node.left, node.right);
+    }
+    if (key < node.key) {
+      return node.withChildren(remove(node.left, key), node.right);
+    }
+    return node.withChildren(node.left, remove(node.right, key));
+  }
+
+  /**
+   * Splits a tree that does not hold the given key into the nodes below and above the key.
+   *
+   * @param node the root of the tree, or null
+   * @param key  the key
+   * @return the roots of the trees below and above the key
+   */
+  private static Node[] split(Node node, long key) {
+    if (node == null) {
+      return new Node[2];
+    }
+    if (key < node.key) {
+      Node[] parts = split(node.left, key);
+      parts[1] = node.withChildren(parts[1], node.right);
+      return parts;
+    }
+    Node[] parts = split(node.right, key);
+    parts[0] = node.withChildren(node.left, parts[0]);
+    return parts;
+  }
+
+  /**
+   * Joins two trees, where every key of the first is below every key of the second.
+   *
+   * @param low  the root of the first tree, or null
+   * @param high the root of the second tree, or null
+   * @return the root of the joined tree
+   */
+  private static Node merge(Node low, Node high) {
+    if (low == null) {
+      return high;
+    }
+    if (high == null) {
+      return low;
+    }
+    if (low.priority > high.priority) {
+      return low.withChildren(low.left, merge(low.right, high));
+    }
+    return high.withChildren(merge(low, high.left), high.right);
+  }
+
+  /**
+   * Returns the node with the given key in a tree.
+   *
+   * @param node the root of the tree, or null
+   * @param key  the key
+   * @return the node, or null if the key is not in the tree
+   */
+  private static Node find(Node node, long key) {
+    while (node != null && node.key != key) {
+      node = key < node.key ? node.left : node.right;
+    }
+    return node;
+  }
+
+  /**
+   * Returns the number of nodes in a tree.
+   *
+   * @param node the root of the tree, or null
+   * @return the number of nodes
+   */
+  private static int sizeOf(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * Returns the priority of a key. The priorities look random, which keeps the tree balanced
+   * even though keys are added in order.
+   *
+   * @param key the key
+   * @return the priority
+   */
+  private static int priorityOf(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
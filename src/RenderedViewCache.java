@@ -0,0 +1,265 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class caches the rendered table rows and reports of teams, so that showing the same
+ * unchanged team again does not format every player again.
+ * Entries are kept for a team and its {@link Team#getVersion() version}: an entry is used only
+ * while the team has the version it was rendered for, and is rendered again as soon as the
+ * team changed. When the cache is full, the entry that was used least recently is dropped.
+ * Changes made to a player's own details without changing the team are not seen.
+ */
+public class RenderedViewCache {
+  private static final Comparator<Player> BY_LAST_NAME = Comparator.comparing(Player::getLastName);
+  private static final Comparator<Player> BY_POSITION =
+      Comparator.comparing(Player::getAssignedPosition).thenComparing(Player::getLastName);
+  private final Map<Key, Rendered> entries;
+  private long hits;
+  private long misses;
+
+  /**
+   * The kinds of rendered content.
+   */
+  private enum Kind {
+    TEAM_ROWS, LINEUP_ROWS, TEAM_REPORT, LINEUP_REPORT
+  }
+
+  /**
+   * The key of an entry: a team, compared by identity, and what was rendered of it.
+   */
+  private static final class Key {
+    private final Team team;
+    private final Kind kind;
+    private final ReportLayout layout;
+
+    Key(Team team, Kind kind, ReportLayout layout) {
+      this.team = team;
+      this.kind = kind;
+      this.layout = layout;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return team == key.team && kind == key.kind && layout == key.layout;
+    }
+
+    @Override
+    public int hashCode() {
+      return (System.identityHashCode(team) * 31 + kind.hashCode()) * 31
+          + (layout == null ? 0 : layout.hashCode());
+    }
+  }
+
+  /**
+   * Rendered content and the version of the team it was rendered for.
+   */
+  private static final class Rendered {
+    private final long version;
+    private final Object content;
+
+    Rendered(long version, Object content) {
+      this.version = version;
+      this.content = content;
+    }
+  }
+
+  /**
+   * Creates a cache that holds at most the given number of entries.
+   *
+   * @param capacity the maximum number of entries
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public RenderedViewCache(int capacity) throws IllegalArgumentException {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.entries = new LinkedHashMap<Key, Rendered>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Rendered> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns the table rows of the players of a team, sorted by last name. Each row holds the
+   * first name, last name, birthdate, preferred position, skill level and jersey number.
+   * The rows must not be changed.
+   *
+   * @param team the team
+   * @return the rows of the team
+   */
+  @SuppressWarnings("unchecked")
+  public List<Object[]> getTeamRows(Team team) {
+    return (List<Object[]>) get(team, Kind.TEAM_ROWS, null);
+  }
+
+  /**
+   * Returns the table rows of the starting lineup of a team, sorted by assigned position and
+   * last name. Each row holds the first name, last name, birthdate, assigned position, skill
+   * level and jersey number. The rows must not be changed.
+   *
+   * @param team the team
+   * @return the rows of the starting lineup
+   */
+  @SuppressWarnings("unchecked")
+  public List<Object[]> getLineupRows(Team team) {
+    return (List<Object[]>) get(team, Kind.LINEUP_ROWS, null);
+  }
+
+  /**
+   * Returns the team report of a team in the given layout.
+   *
+   * @param team   the team
+   * @param layout the layout
+   * @return the report
+   * @see ReportRenderer#renderTeam
+   */
+  public String getTeamReport(Team team, ReportLayout layout) {
+    return (String) get(team, Kind.TEAM_REPORT, layout);
+  }
+
+  /**
+   * Returns the starting lineup report of a team in the given layout.
+   *
+   * @param team   the team
+   * @param layout the layout
+   * @return the report
+   * @see ReportRenderer#renderStartingLineup
+   */
+  public String getLineupReport(Team team, ReportLayout layout) {
+    return (String) get(team, Kind.LINEUP_REPORT, layout);
+  }
+
+  /**
+   * Returns the number of requests that were answered from the cache.
+   *
+   * @return the number of hits
+   */
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of requests that had to be rendered.
+   *
+   * @return the number of misses
+   */
+  public synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of entries in the cache.
+   *
+   * @return the number of entries
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops every entry.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Returns the cached content for a team, rendering it if the team changed since.
+   *
+   * @param team   the team
+   * @param kind   what to render
+   * @param layout the layout of a report, or null for rows
+   * @return the content
+   * @throws IllegalArgumentException if the team is null, or the layout of a report is null
+   */
+  private synchronized Object get(Team team, Kind kind, ReportLayout layout)
+      throws IllegalArgumentException {
+    if (team == null) {
+      throw new IllegalArgumentException("Team cannot be null");
+    }
+    if ((kind == Kind.TEAM_REPORT || kind == Kind.LINEUP_REPORT) && layout == null) {
+      throw new IllegalArgumentException("Layout cannot be null");
+    }
+    Key key = new Key(team, kind, layout);
+    Rendered rendered = entries.get(key);
+    if (rendered != null && rendered.version == team.getVersion()) {
+      hits++;
+      return rendered.content;
+    }
+    misses++;
+    rendered = new Rendered(team.getVersion(), render(team, kind, layout));
+    entries.put(key, rendered);
+    return rendered.content;
+  }
+
+  /**
+   * Renders content of a team.
+   *
+   * @param team   the team
+   * @param kind   what to render
+   * @param layout the layout of a report
+   * @return the content
+   */
+  private static Object render(Team team, Kind kind, ReportLayout layout) {
+    switch (kind) {
+      case TEAM_ROWS:
+        return rows(team.getPlayers(), BY_LAST_NAME, false);
+      case LINEUP_ROWS:
+        return rows(team.getStartingLineup(), BY_POSITION, true);
+      default:
+        StringBuilder report = new StringBuilder();
+        try {
+          ReportRenderer renderer = new ReportRenderer(layout);
+          if (kind == Kind.TEAM_REPORT) {
+            renderer.renderTeam(team, report);
+          } else {
+            renderer.renderStartingLineup(team, report);
+          }
+        } catch (IOException e) {
+          // a StringBuilder does not throw
+          throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+  }
+
+  /**
+   * Builds the table rows of players.
+   *
+   * @param players          the players
+   * @param order            the order of the rows
+   * @param assignedPosition whether to show the assigned instead of the preferred position
+   * @return the rows, which cannot be changed
+   */
+  private static List<Object[]> rows(List<Player> players, Comparator<Player> order,
+                                     boolean assignedPosition) {
+    List<Player> sorted = new ArrayList<>(players);
+    sorted.sort(order);
+    List<Object[]> rows = new ArrayList<>(sorted.size());
+    for (Player player : sorted) {
+      rows.add(new Object[] {
+          player.getFirstName(),
+          player.getLastName(),
+          player.getBirthdate().format(DateTimeFormatter.ISO_DATE),
+          assignedPosition ? player.getAssignedPosition().toString()
+              : player.getPreferredPosition(),
+          player.getSkillLevel(),
+          player.getJerseyNumber()
+      });
+    }
+    return Collections.unmodifiableList(rows);
+  }
+}
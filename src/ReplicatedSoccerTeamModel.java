@@ -0,0 +1,420 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * This class is the primary of a replicated soccer team model.
+ * Every change is passed on to a {@link SoccerTeamModelImpl}, and the changes that succeed
+ * are appended to an ordered change log. The log is shipped to a {@link ReplicationStandby} in
+ * compressed batches every few milliseconds, so the standby can take over with little lag.
+ * A batch that the transport cannot send is sent again by the next shipment; a batch that the
+ * standby refuses can never be applied, so replication stops and every later shipment fails.
+ * Added players are logged with their ids, so the players of the standby have the same ids.
+ * Changes made directly to the players returned by {@link #getPlayers()} and
+ * {@link #getTeam()} are not replicated.
+ */
+public class ReplicatedSoccerTeamModel implements SoccerTeamModel, AutoCloseable {
+  static final byte ADD = 1;
+  static final byte REMOVE = 2;
+  static final byte REMOVE_BULK = 3;
+  static final byte GENERATE_TEAM = 4;
+  static final byte GENERATE_LINEUP = 5;
+  static final byte ROLLOVER = 6;
+  static final byte CLEAR_TEAM = 7;
+  private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 2;
+  private static final int MAX_BATCH_BYTES = 1 << 16;
+  private final SoccerTeamModelImpl delegate;
+  private final ReplicationTransport transport;
+  private final ScheduledExecutorService flusher;
+  private final Object sendLock;
+  private final Deflater deflater;
+  private ByteArrayOutputStream buffer;
+  private DataOutputStream log;
+  private long nextSequence;
+  private long batchFirstSequence;
+  private int batchCount;
+  private byte[] unsent;
+  private RuntimeException rejection;
+  private boolean rejectionReported;
+
+  /**
+   * Creates a primary that ships its change log every {@value #DEFAULT_FLUSH_INTERVAL_MILLIS}
+   * milliseconds.
+   *
+   * @param delegate  the model to pass the changes on to, with no players yet
+   * @param transport the transport to the standby
+   * @throws IllegalArgumentException if an argument is null or the model has players
+   */
+  public ReplicatedSoccerTeamModel(SoccerTeamModelImpl delegate, ReplicationTransport transport)
+      throws IllegalArgumentException {
+    this(delegate, transport, DEFAULT_FLUSH_INTERVAL_MILLIS);
+  }
+
+  /**
+   * Creates a primary that ships its change log at the given interval.
+   *
+   * @param delegate            the model to pass the changes on to, with no players yet
+   * @param transport           the transport to the standby
+   * @param flushIntervalMillis the interval between shipments in milliseconds
+   * @throws IllegalArgumentException if an argument is null, the model has players or the
+   *                                  interval is not positive
+   */
+  public ReplicatedSoccerTeamModel(SoccerTeamModelImpl delegate, ReplicationTransport transport,
+                                   long flushIntervalMillis) throws IllegalArgumentException {
+    if (delegate == null || transport == null) {
+      throw new IllegalArgumentException("Model and transport cannot be null");
+    }
+    if (!delegate.getPlayers().isEmpty()) {
+      throw new IllegalArgumentException("Model must not have players yet");
+    }
+    if (flushIntervalMillis < 1) {
+      throw new IllegalArgumentException("Flush interval must be positive");
+    }
+    this.delegate = delegate;
+    this.transport = transport;
+    this.sendLock = new Object();
+    this.deflater = new Deflater(Deflater.BEST_SPEED);
+    this.buffer = new ByteArrayOutputStream();
+    this.log = new DataOutputStream(buffer);
+    this.nextSequence = 1;
+    this.batchFirstSequence = 1;
+
+    // log every added player with its id, from inside the call that adds it
+    delegate.addModelListener(new SoccerTeamModelListener() {
+      @Override
+      public void playerAdded(Player player) {
+        logAdd(player);
+      }
+    });
+
+    this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replication-flusher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void generateTeam() {
+    try {
+      delegate.generateTeam();
+    } catch (RuntimeException e) {
+      logClearedTeam();
+      throw e;
+    }
+    logOperation(GENERATE_TEAM);
+  }
+
+  @Override
+  public synchronized void generateStartingLineup() {
+    try {
+      delegate.generateStartingLineup();
+    } catch (RuntimeException e) {
+      logClearedTeam();
+      throw e;
+    }
+    logOperation(GENERATE_LINEUP);
+  }
+
+  @Override
+  public synchronized void addPlayer(String lastName, String firstName, LocalDate birthdate,
+                                     Position preferredPosition, int skillLevel) {
+    delegate.addPlayer(lastName, firstName, birthdate, preferredPosition, skillLevel);
+  }
+
+  @Override
+  public synchronized void removePlayer(String id) {
+    delegate.removePlayer(id);
+    try {
+      log.writeByte(REMOVE);
+      log.writeUTF(id);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    logged();
+  }
+
+  @Override
+  public synchronized List<String> removePlayers(Collection<String> ids) {
+    List<String> notFound = delegate.removePlayers(ids);
+    if (notFound.size() < ids.size()) {
+      Set<String> notFoundSet = new HashSet<>(notFound);
+      List<String> removed = new ArrayList<>();
+      for (String id : ids) {
+        if (!notFoundSet.contains(id)) {
+          removed.add(id);
+        }
+      }
+      try {
+        log.writeByte(REMOVE_BULK);
+        log.writeInt(removed.size());
+        for (String id : removed) {
+          log.writeUTF(id);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      logged();
+    }
+    return notFound;
+  }
+
+  /**
+   * Removes every player who is no longer eligible on the given season start date.
+   *
+   * @param seasonStart the first day of the new season
+   * @return the removed players ordered by birthdate
+   * @throws IllegalArgumentException if the season start date is null
+   * @see SoccerTeamModelImpl#rolloverSeason
+   */
+  public synchronized List<Player> rolloverSeason(LocalDate seasonStart)
+      throws IllegalArgumentException {
+    List<Player> agedOut = delegate.rolloverSeason(seasonStart);
+    if (!agedOut.isEmpty()) {
+      try {
+        log.writeByte(ROLLOVER);
+        log.writeLong(seasonStart.toEpochDay());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      logged();
+    }
+    return agedOut;
+  }
+
+  @Override
+  public List<Player> getPlayers() {
+    return delegate.getPlayers();
+  }
+
+  @Override
+  public Team getTeam() {
+    return delegate.getTeam();
+  }
+
+  @Override
+  public void addModelListener(SoccerTeamModelListener listener) {
+    delegate.addModelListener(listener);
+  }
+
+  @Override
+  public void removeModelListener(SoccerTeamModelListener listener) {
+    delegate.removeModelListener(listener);
+  }
+
+  /**
+   * Returns the sequence number of the last logged change.
+   *
+   * @return the sequence number of the last change, or 0 if nothing was logged
+   */
+  public synchronized long getLastSequence() {
+    return nextSequence - 1;
+  }
+
+  /**
+   * Ships the logged changes that were not shipped yet, without waiting for the next
+   * scheduled shipment.
+   *
+   * @throws IllegalStateException if the changes cannot be sent, or the standby refused a
+   *                               batch and replication stopped
+   */
+  public void flush() throws IllegalStateException {
+    try {
+      send();
+    } catch (IOException e) {
+      throw new IllegalStateException("Change log cannot be sent: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Stops the scheduled shipments, ships the remaining changes and closes the transport.
+   *
+   * @throws IllegalStateException if the remaining changes cannot be sent
+   */
+  @Override
+  public void close() throws IllegalStateException {
+    flusher.shutdown();
+    try {
+      flusher.awaitTermination(1, TimeUnit.SECONDS);
+      send();
+      transport.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      throw new IllegalStateException("Change log cannot be sent: " + e.getMessage(), e);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Ships the logged changes on the flusher thread. A batch that cannot be sent is kept and
+   * sent again first by the next shipment, so a failure shows at the next call to
+   * {@link #flush()} if the transport is still failing. A batch that the standby refused is
+   * reported once to the uncaught exception handler of the flusher thread.
+   */
+  private void flushQuietly() {
+    try {
+      send();
+    } catch (IOException e) {
+      // kept for the next shipment
+    } catch (RuntimeException e) {
+      if (!rejectionReported) {
+        rejectionReported = true;
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+  }
+
+  /**
+   * Compresses the current batch and sends it after any batch that could not be sent before.
+   * The transport throws an IOException if it cannot send a batch, which is then sent again,
+   * and passes on the RuntimeException of a standby that refused a batch, which stops
+   * replication.
+   *
+   * @throws IOException           if a batch cannot be sent
+   * @throws IllegalStateException if the standby refused a batch
+   */
+  private void send() throws IOException, IllegalStateException {
+    synchronized (sendLock) {
+      if (rejection != null) {
+        // nothing can follow the refused batch, so the logged changes are dropped
+        takeBatch();
+        throw new IllegalStateException("Replication stopped, the standby refused a batch: "
+            + rejection.getMessage(), rejection);
+      }
+      try {
+        if (unsent != null) {
+          transport.send(unsent);
+          unsent = null;
+        }
+        byte[] batch = takeBatch();
+        if (batch != null) {
+          unsent = compress(batch);
+          transport.send(unsent);
+          unsent = null;
+        }
+      } catch (RuntimeException e) {
+        unsent = null;
+        rejection = e;
+        throw new IllegalStateException("Change log was refused by the standby: "
+            + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Takes the logged changes of the current batch and starts a new batch.
+   *
+   * @return the batch with its header, or null if nothing was logged
+   */
+  private synchronized byte[] takeBatch() {
+    if (batchCount == 0) {
+      return null;
+    }
+    ByteArrayOutputStream batch = new ByteArrayOutputStream(buffer.size() + 12);
+    DataOutputStream out = new DataOutputStream(batch);
+    try {
+      out.writeLong(batchFirstSequence);
+      out.writeInt(batchCount);
+      buffer.writeTo(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    buffer.reset();
+    batchFirstSequence = nextSequence;
+    batchCount = 0;
+    return batch.toByteArray();
+  }
+
+  /**
+   * Compresses a batch.
+   *
+   * @param batch the batch
+   * @return the compressed batch
+   */
+  private byte[] compress(byte[] batch) {
+    deflater.reset();
+    deflater.setInput(batch);
+    deflater.finish();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(batch.length / 2 + 16);
+    byte[] chunk = new byte[4096];
+    while (!deflater.finished()) {
+      compressed.write(chunk, 0, deflater.deflate(chunk));
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * Logs an added player with all of its details.
+   *
+   * @param player the added player
+   */
+  private synchronized void logAdd(Player player) {
+    try {
+      UUID id = player.getUuid();
+      log.writeByte(ADD);
+      log.writeLong(id.getMostSignificantBits());
+      log.writeLong(id.getLeastSignificantBits());
+      log.writeUTF(player.getLastName());
+      log.writeUTF(player.getFirstName());
+      log.writeInt(player.getBirthEpochDay());
+      log.writeByte(player.getPreferredPosition().ordinal());
+      log.writeByte(player.getSkillLevel());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    logged();
+  }
+
+  /**
+   * Logs that a failed team or lineup generation cleared the team. The generation clears the
+   * team before it checks that there are enough players, so the standby must clear its team
+   * as well; a generation that failed without clearing the team changed nothing.
+   */
+  private void logClearedTeam() {
+    if (delegate.getTeam().size() == 0) {
+      logOperation(CLEAR_TEAM);
+    }
+  }
+
+  /**
+   * Logs an operation without arguments.
+   *
+   * @param operation the operation
+   */
+  private void logOperation(byte operation) {
+    try {
+      log.writeByte(operation);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    logged();
+  }
+
+  /**
+   * Counts a logged change and ships the batch early if it grew large.
+   */
+  private void logged() {
+    nextSequence++;
+    batchCount++;
+    if (buffer.size() >= MAX_BATCH_BYTES && !flusher.isShutdown()) {
+      flusher.execute(this::flushQuietly);
+    }
+  }
+}
@@ -0,0 +1,276 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * This class is the standby of a replicated soccer team model.
+ * It applies the change log shipped by a {@link ReplicatedSoccerTeamModel} to its own
+ * {@link SoccerTeamModelImpl}, in order and without gaps, so that the model matches the
+ * primary up to the last applied change and can take over when the primary is lost.
+ * A batch is read and checked in full before any of its changes is applied, so a corrupt or
+ * inconsistent batch changes nothing and can be sent again. If a checked change still cannot
+ * be applied, the model no longer matches the primary and every later batch is refused.
+ */
+public class ReplicationStandby {
+  private static final Position[] POSITIONS = Position.values();
+  private final SoccerTeamModelImpl model;
+  private final Inflater inflater;
+  private long appliedSequence;
+  private IllegalStateException failure;
+
+  /**
+   * Creates a standby that applies the change log to the given model.
+   *
+   * @param model the model, with no players yet
+   * @throws IllegalArgumentException if the model is null or has players
+   */
+  public ReplicationStandby(SoccerTeamModelImpl model) throws IllegalArgumentException {
+    if (model == null || !model.getPlayers().isEmpty()) {
+      throw new IllegalArgumentException("Model cannot be null or have players");
+    }
+    this.model = model;
+    this.inflater = new Inflater();
+  }
+
+  /**
+   * Returns the model of the standby. It must not be changed while batches are applied; to
+   * take over, stop applying batches and use the model as the new primary.
+   *
+   * @return the model
+   */
+  public SoccerTeamModelImpl getModel() {
+    return model;
+  }
+
+  /**
+   * Returns the sequence number of the last applied change.
+   *
+   * @return the sequence number of the last applied change, or 0 if none was applied
+   */
+  public synchronized long getAppliedSequence() {
+    return appliedSequence;
+  }
+
+  /**
+   * Applies one compressed batch of the change log. The whole batch is applied or, if it is
+   * refused, none of it.
+   *
+   * @param batch the batch
+   * @throws IllegalStateException if the batch is corrupt, does not follow the last applied
+   *                               batch, or a change cannot be applied
+   */
+  public synchronized void apply(byte[] batch) throws IllegalStateException {
+    if (failure != null) {
+      throw new IllegalStateException("Standby stopped: " + failure.getMessage(), failure);
+    }
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(batch)));
+    long firstSequence;
+    List<Runnable> changes;
+    try {
+      firstSequence = in.readLong();
+      int count = in.readInt();
+      if (firstSequence != appliedSequence + 1) {
+        throw new IllegalStateException("Expected change " + (appliedSequence + 1)
+            + " but batch starts at " + firstSequence);
+      }
+      changes = readChanges(in, firstSequence, count);
+    } catch (IOException e) {
+      throw new IllegalStateException("Corrupt batch: " + e.getMessage(), e);
+    }
+
+    // apply the checked changes, then move the sequence past the whole batch
+    for (int i = 0; i < changes.size(); i++) {
+      try {
+        changes.get(i).run();
+      } catch (RuntimeException e) {
+        failure = new IllegalStateException("Change " + (firstSequence + i)
+            + " cannot be applied: " + e.getMessage(), e);
+        throw failure;
+      }
+    }
+    appliedSequence += changes.size();
+  }
+
+  /**
+   * Reads batches written by a {@link StreamReplicationTransport} and applies them until the
+   * end of the stream. The call blocks, so it usually runs on its own thread.
+   *
+   * @param in the stream, such as the input stream of a local socket or a pipe
+   * @throws IOException           if the stream cannot be read
+   * @throws IllegalStateException if a batch cannot be applied
+   */
+  public void readFrom(InputStream in) throws IOException, IllegalStateException {
+    DataInputStream frames = new DataInputStream(in);
+    while (true) {
+      int length;
+      try {
+        length = frames.readInt();
+      } catch (EOFException e) {
+        return;
+      }
+      byte[] batch = new byte[length];
+      frames.readFully(batch);
+      apply(batch);
+    }
+  }
+
+  /**
+   * Reads the changes of a batch without applying them, and checks that every added player is
+   * new and every removed player is known at the point of the log where the change is made.
+   *
+   * @param in            the log, positioned after the header of the batch
+   * @param firstSequence the sequence number of the first change
+   * @param count         the number of changes
+   * @return the changes, in order
+   * @throws IOException if a change cannot be read or does not fit the model
+   */
+  private List<Runnable> readChanges(DataInputStream in, long firstSequence, int count)
+      throws IOException {
+    List<Runnable> changes = new ArrayList<>(count);
+    Map<UUID, Boolean> present = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      long sequence = firstSequence + i;
+      byte operation = in.readByte();
+      switch (operation) {
+        case ReplicatedSoccerTeamModel.ADD:
+          UUID id = new UUID(in.readLong(), in.readLong());
+          String lastName = in.readUTF();
+          String firstName = in.readUTF();
+          int birthEpochDay = in.readInt();
+          int position = in.readByte();
+          int skillLevel = in.readByte();
+          if (position < 0 || position >= POSITIONS.length) {
+            throw new IOException("Change " + sequence + " has unknown position " + position);
+          }
+          if (isPresent(present, id)) {
+            throw new IOException("Change " + sequence + " adds known player " + id);
+          }
+          present.put(id, true);
+          Player player = new Player(id, lastName, firstName, birthEpochDay, POSITIONS[position],
+              skillLevel, null, null);
+          changes.add(() -> model.addPlayer(player));
+          break;
+        case ReplicatedSoccerTeamModel.REMOVE:
+          String removedId = in.readUTF();
+          checkRemoved(present, parseId(removedId, sequence), sequence);
+          changes.add(() -> model.removePlayer(removedId));
+          break;
+        case ReplicatedSoccerTeamModel.REMOVE_BULK:
+          int removedCount = in.readInt();
+          List<String> ids = new ArrayList<>(removedCount);
+          Set<UUID> removedIds = new HashSet<>();
+          for (int j = 0; j < removedCount; j++) {
+            String bulkId = in.readUTF();
+            UUID uuid = parseId(bulkId, sequence);
+            // the same player may be given twice and is removed once
+            if (removedIds.add(uuid)) {
+              checkRemoved(present, uuid, sequence);
+            }
+            ids.add(bulkId);
+          }
+          changes.add(() -> model.removePlayers(ids));
+          break;
+        case ReplicatedSoccerTeamModel.GENERATE_TEAM:
+          changes.add(model::generateTeam);
+          break;
+        case ReplicatedSoccerTeamModel.GENERATE_LINEUP:
+          changes.add(model::generateStartingLineup);
+          break;
+        case ReplicatedSoccerTeamModel.ROLLOVER:
+          LocalDate seasonStart = LocalDate.ofEpochDay(in.readLong());
+          changes.add(() -> model.rolloverSeason(seasonStart));
+          break;
+        case ReplicatedSoccerTeamModel.CLEAR_TEAM:
+          changes.add(model::clearTeam);
+          break;
+        default:
+          throw new IOException("Change " + sequence + " has unknown operation " + operation);
+      }
+    }
+    return changes;
+  }
+
+  /**
+   * Checks that a removed player is known at the point of the log where it is removed, and
+   * marks the player as removed.
+   *
+   * @param present  the players added or removed by the earlier changes of the batch
+   * @param id       the ID of the removed player
+   * @param sequence the sequence number of the change
+   * @throws IOException if the player is not known
+   */
+  private void checkRemoved(Map<UUID, Boolean> present, UUID id, long sequence)
+      throws IOException {
+    if (!isPresent(present, id)) {
+      throw new IOException("Change " + sequence + " removes unknown player " + id);
+    }
+    present.put(id, false);
+  }
+
+  /**
+   * Parses the ID of a removed player.
+   *
+   * @param id       the logged ID
+   * @param sequence the sequence number of the change
+   * @return the parsed ID
+   * @throws IOException if the ID is not a valid player ID
+   */
+  private static UUID parseId(String id, long sequence) throws IOException {
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Change " + sequence + " removes invalid ID " + id, e);
+    }
+  }
+
+  /**
+   * Tells whether a player is known after the earlier changes of a batch.
+   *
+   * @param present the players added or removed by the earlier changes of the batch
+   * @param id      the ID of the player
+   * @return true if the player is known
+   */
+  private boolean isPresent(Map<UUID, Boolean> present, UUID id) {
+    Boolean changed = present.get(id);
+    return changed != null ? changed : model.hasPlayer(id);
+  }
+
+  /**
+   * Decompresses a batch.
+   *
+   * @param batch the compressed batch
+   * @return the batch
+   * @throws IllegalStateException if the batch is corrupt
+   */
+  private byte[] inflate(byte[] batch) throws IllegalStateException {
+    inflater.reset();
+    inflater.setInput(batch);
+    ByteArrayOutputStream out = new ByteArrayOutputStream(batch.length * 4);
+    byte[] chunk = new byte[4096];
+    try {
+      while (!inflater.finished()) {
+        int length = inflater.inflate(chunk);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Corrupt batch: truncated");
+        }
+        out.write(chunk, 0, length);
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupt batch: " + e.getMessage(), e);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,26 @@
+import java.io.IOException;
+
+/**
+ * ReplicationTransport is an interface for the channel that carries the change log of a
+ * {@link ReplicatedSoccerTeamModel} to a {@link ReplicationStandby}.
+ * Batches are sent one at a time and in order; a transport must deliver them in the order
+ * they were sent.
+ */
+public interface ReplicationTransport extends AutoCloseable {
+
+  /**
+   * Sends one compressed batch of the change log.
+   *
+   * @param batch the batch
+   * @throws IOException if the batch cannot be sent
+   */
+  public void send(byte[] batch) throws IOException;
+
+  /**
+   * Closes the transport. The standby sees the end of the log.
+   *
+   * @throws IOException if the transport cannot be closed
+   */
+  @Override
+  public void close() throws IOException;
+}
@@ -0,0 +1,206 @@
+import java.io.IOException;
+
+/**
+ * Enum class for the layout of a report written by a {@link ReportRenderer}.
+ * A layout writes the markup around the tables of a report and escapes the cell text.
+ */
+public enum ReportLayout {
+  TEXT {
+    @Override
+    void beginTable(Appendable out, String title, String[] columns) throws IOException {
+      out.append(title).append('\n');
+      for (int i = 0; i < columns.length; i++) {
+        out.append(i == 0 ? "" : " | ").append(columns[i]);
+      }
+      out.append('\n');
+    }
+
+    @Override
+    void beginCell(Appendable out, int column) throws IOException {
+      if (column > 0) {
+        out.append(" | ");
+      }
+    }
+
+    @Override
+    void endRow(Appendable out) throws IOException {
+      out.append('\n');
+    }
+  },
+  MARKDOWN {
+    @Override
+    void beginTable(Appendable out, String title, String[] columns) throws IOException {
+      out.append("## ").append(title).append("\n\n|");
+      for (String column : columns) {
+        out.append(' ').append(column).append(" |");
+      }
+      out.append("\n|");
+      for (int i = 0; i < columns.length; i++) {
+        out.append(" --- |");
+      }
+      out.append('\n');
+    }
+
+    @Override
+    void beginRow(Appendable out) throws IOException {
+      out.append('|');
+    }
+
+    @Override
+    void beginCell(Appendable out, int column) throws IOException {
+      out.append(' ');
+    }
+
+    @Override
+    void text(Appendable out, CharSequence text) throws IOException {
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '|' || c == '\\') {
+          out.append('\\');
+        }
+        out.append(c);
+      }
+    }
+
+    @Override
+    void endCell(Appendable out, int column) throws IOException {
+      out.append(" |");
+    }
+
+    @Override
+    void endRow(Appendable out) throws IOException {
+      out.append('\n');
+    }
+
+    @Override
+    void endTable(Appendable out) throws IOException {
+      out.append('\n');
+    }
+  },
+  HTML {
+    @Override
+    void beginTable(Appendable out, String title, String[] columns) throws IOException {
+      out.append("<table>\n<caption>").append(title).append("</caption>\n<tr>");
+      for (String column : columns) {
+        out.append("<th>").append(column).append("</th>");
+      }
+      out.append("</tr>\n");
+    }
+
+    @Override
+    void beginRow(Appendable out) throws IOException {
+      out.append("<tr>");
+    }
+
+    @Override
+    void beginCell(Appendable out, int column) throws IOException {
+      out.append("<td>");
+    }
+
+    @Override
+    void text(Appendable out, CharSequence text) throws IOException {
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        switch (c) {
+          case '<':
+            out.append("&lt;");
+            break;
+          case '>':
+            out.append("&gt;");
+            break;
+          case '&':
+            out.append("&amp;");
+            break;
+          case '"':
+            out.append("&quot;");
+            break;
+          default:
+            out.append(c);
+        }
+      }
+    }
+
+    @Override
+    void endCell(Appendable out, int column) throws IOException {
+      out.append("</td>");
+    }
+
+    @Override
+    void endRow(Appendable out) throws IOException {
+      out.append("</tr>\n");
+    }
+
+    @Override
+    void endTable(Appendable out) throws IOException {
+      out.append("</table>\n");
+    }
+  };
+
+  /**
+   * Writes the title and the column headers of a table.
+   *
+   * @param out     where to write
+   * @param title   the title of the table
+   * @param columns the column headers
+   * @throws IOException if writing fails
+   */
+  abstract void beginTable(Appendable out, String title, String[] columns) throws IOException;
+
+  /**
+   * Writes the start of a row.
+   *
+   * @param out where to write
+   * @throws IOException if writing fails
+   */
+  void beginRow(Appendable out) throws IOException {
+  }
+
+  /**
+   * Writes the start of a cell.
+   *
+   * @param out    where to write
+   * @param column the index of the column
+   * @throws IOException if writing fails
+   */
+  void beginCell(Appendable out, int column) throws IOException {
+  }
+
+  /**
+   * Writes the text of a cell, escaped for the layout.
+   *
+   * @param out  where to write
+   * @param text the text
+   * @throws IOException if writing fails
+   */
+  void text(Appendable out, CharSequence text) throws IOException {
+    out.append(text);
+  }
+
+  /**
+   * Writes the end of a cell.
+   *
+   * @param out    where to write
+   * @param column the index of the column
+   * @throws IOException if writing fails
+   */
+  void endCell(Appendable out, int column) throws IOException {
+  }
+
+  /**
+   * Writes the end of a row.
+   *
+   * @param out where to write
+   * @throws IOException if writing fails
+   */
+  void endRow(Appendable out) throws IOException {
+  }
+
+  /**
+   * Writes the end of a table.
+   *
+   * @param out where to write
+   * @throws IOException if writing fails
+   */
+  void endTable(Appendable out) throws IOException {
+  }
+}
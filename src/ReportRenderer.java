@@ -0,0 +1,132 @@
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * This class writes team, starting lineup and registry reports in a {@link ReportLayout}.
+ * Reports are written straight to an {@link Appendable} such as a Writer or a StringBuilder,
+ * one cell at a time, so writing a report does not build the whole report in memory.
+ */
+public class ReportRenderer {
+  private static final DateTimeFormatter BIRTHDATE_FORMAT = DateTimeFormatter.ISO_DATE;
+  private static final String[] TEAM_COLUMNS = {"First Name", "Last Name", "Birthdate",
+      "Preferred Position", "Skill Level", "Jersey Number"};
+  private static final String[] LINEUP_COLUMNS = {"First Name", "Last Name", "Birthdate",
+      "Assigned Position", "Skill Level", "Jersey Number"};
+  private static final String[] REGISTRY_COLUMNS = {"First Name", "Last Name", "Birthdate",
+      "Preferred Position", "Skill Level"};
+  private final ReportLayout layout;
+
+  /**
+   * Creates a renderer that writes reports in the given layout.
+   *
+   * @param layout the layout of the reports
+   * @throws IllegalArgumentException if the layout is null
+   */
+  public ReportRenderer(ReportLayout layout) throws IllegalArgumentException {
+    if (layout == null) {
+      throw new IllegalArgumentException("Layout cannot be null");
+    }
+    this.layout = layout;
+  }
+
+  /**
+   * Writes the players of the team sorted by last name.
+   *
+   * @param team the team
+   * @param out  where to write the report
+   * @throws IOException if writing fails
+   */
+  public void renderTeam(Team team, Appendable out) throws IOException {
+    layout.beginTable(out, "Team", TEAM_COLUMNS);
+    for (Player player : team.getPlayersSortedByLastName()) {
+      renderPlayer(player, player.getPreferredPosition(), true, out);
+    }
+    layout.endTable(out);
+  }
+
+  /**
+   * Writes the starting lineup of the team sorted by position and name.
+   *
+   * @param team the team
+   * @param out  where to write the report
+   * @throws IOException if writing fails
+   */
+  public void renderStartingLineup(Team team, Appendable out) throws IOException {
+    layout.beginTable(out, "Starting Lineup", LINEUP_COLUMNS);
+    for (Player player : team.getSortedStartingLineup()) {
+      renderPlayer(player, player.getAssignedPosition(), true, out);
+    }
+    layout.endTable(out);
+  }
+
+  /**
+   * Writes all registered players in the given order.
+   *
+   * @param players the registered players
+   * @param out     where to write the report
+   * @throws IOException if writing fails
+   */
+  public void renderRegistry(List<Player> players, Appendable out) throws IOException {
+    layout.beginTable(out, "Players", REGISTRY_COLUMNS);
+    for (Player player : players) {
+      renderPlayer(player, player.getPreferredPosition(), false, out);
+    }
+    layout.endTable(out);
+  }
+
+  /**
+   * Writes the row of one player.
+   *
+   * @param player       the player
+   * @param position     the position to show
+   * @param jerseyColumn whether to write the jersey number column
+   * @param out          where to write the row
+   * @throws IOException if writing fails
+   */
+  private void renderPlayer(Player player, Position position, boolean jerseyColumn,
+                            Appendable out) throws IOException {
+    layout.beginRow(out);
+    int column = 0;
+    layout.beginCell(out, column);
+    layout.text(out, player.getFirstName());
+    layout.endCell(out, column++);
+    layout.beginCell(out, column);
+    layout.text(out, player.getLastName());
+    layout.endCell(out, column++);
+    layout.beginCell(out, column);
+    BIRTHDATE_FORMAT.formatTo(player.getBirthdate(), out);
+    layout.endCell(out, column++);
+    layout.beginCell(out, column);
+    if (position != null) {
+      out.append(position.name());
+    }
+    layout.endCell(out, column++);
+    layout.beginCell(out, column);
+    appendNumber(out, player.getSkillLevel());
+    layout.endCell(out, column++);
+    if (jerseyColumn) {
+      layout.beginCell(out, column);
+      Integer jerseyNumber = player.getJerseyNumber();
+      if (jerseyNumber != null) {
+        appendNumber(out, jerseyNumber);
+      }
+      layout.endCell(out, column);
+    }
+    layout.endRow(out);
+  }
+
+  /**
+   * Writes a number that is not negative without building a String.
+   *
+   * @param out    where to write the number
+   * @param number the number
+   * @throws IOException if writing fails
+   */
+  private static void appendNumber(Appendable out, int number) throws IOException {
+    if (number >= 10) {
+      appendNumber(out, number / 10);
+    }
+    out.append((char) ('0' + number % 10));
+  }
+}
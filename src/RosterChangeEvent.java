@@ -0,0 +1,143 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents one change to the roster of a soccer team model, as published by
+ * {@link RosterChangePublisher}.
+ * The details of the player are copied when the event is created, so an event can be read on
+ * any thread while the model keeps changing.
+ */
+public final class RosterChangeEvent {
+
+  /**
+   * The kinds of roster change.
+   */
+  public enum Type {
+    PLAYER_ADDED, PLAYER_REMOVED, JERSEY_ASSIGNED, LINEUP_CHANGED
+  }
+
+  private final Type type;
+  private final long sequence;
+  private final String playerId;
+  private final String lastName;
+  private final String firstName;
+  private final Integer jerseyNumber;
+  private final Map<String, Position> lineup;
+
+  /**
+   * Creates an event about one player.
+   *
+   * @param type     the kind of change
+   * @param sequence the number of the change
+   * @param player   the player that changed
+   */
+  RosterChangeEvent(Type type, long sequence, Player player) {
+    this.type = type;
+    this.sequence = sequence;
+    this.playerId = player.getId();
+    this.lastName = player.getLastName();
+    this.firstName = player.getFirstName();
+    this.jerseyNumber = player.getJerseyNumber();
+    this.lineup = Collections.emptyMap();
+  }
+
+  /**
+   * Creates an event about a new starting lineup.
+   *
+   * @param sequence       the number of the change
+   * @param startingLineup the players of the new starting lineup
+   */
+  RosterChangeEvent(long sequence, List<Player> startingLineup) {
+    this.type = Type.LINEUP_CHANGED;
+    this.sequence = sequence;
+    this.playerId = null;
+    this.lastName = null;
+    this.firstName = null;
+    this.jerseyNumber = null;
+    Map<String, Position> positions = new LinkedHashMap<>();
+    for (Player player : startingLineup) {
+      positions.put(player.getId(), player.getAssignedPosition());
+    }
+    this.lineup = Collections.unmodifiableMap(positions);
+  }
+
+  /**
+   * Returns the kind of change.
+   *
+   * @return the kind of change
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Returns the number of the change. The changes of one publisher are numbered in the order
+   * they happened, so a subscriber can tell how many changes it missed.
+   *
+   * @return the number of the change
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Returns the id of the player that changed.
+   *
+   * @return the id of the player, or null for a lineup change
+   */
+  public String getPlayerId() {
+    return playerId;
+  }
+
+  /**
+   * Returns the last name of the player that changed.
+   *
+   * @return the last name of the player, or null for a lineup change
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  /**
+   * Returns the first name of the player that changed.
+   *
+   * @return the first name of the player, or null for a lineup change
+   */
+  public String getFirstName() {
+    return firstName;
+  }
+
+  /**
+   * Returns the jersey number of the player when the change happened.
+   *
+   * @return the jersey number of the player, or null if the player had none
+   */
+  public Integer getJerseyNumber() {
+    return jerseyNumber;
+  }
+
+  /**
+   * Returns the assigned positions of the new starting lineup by player id.
+   *
+   * @return the positions of the lineup, empty unless this is a lineup change
+   */
+  public Map<String, Position> getLineup() {
+    return lineup;
+  }
+
+  /**
+   * Returns a string representation of the event.
+   *
+   * @return a string representation of the event
+   */
+  @Override
+  public String toString() {
+    return "RosterChangeEvent{"
+        + "type: " + type
+        + ", sequence: " + sequence
+        + (type == Type.LINEUP_CHANGED ? ", lineup: " + lineup : ", playerId: '" + playerId + '\'')
+        + '}';
+  }
+}
@@ -0,0 +1,133 @@
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class publishes the roster changes of a soccer team model as a stream of
+ * {@link RosterChangeEvent}s. Add it to a model with
+ * {@link SoccerTeamModel#addModelListener}, then subscribe to it.
+ * Every subscriber has its own bounded buffer and receives events only as fast as it requests
+ * them. The model's thread never waits for a subscriber: when the buffer of a slow subscriber
+ * is full, the event is dropped for that subscriber and counted, and the subscriber can see
+ * the gap in the sequence numbers.
+ */
+public class RosterChangePublisher implements Flow.Publisher<RosterChangeEvent>,
+    SoccerTeamModelListener, AutoCloseable {
+  private final SubmissionPublisher<RosterChangeEvent> publisher;
+  private final AtomicLong sequence;
+  private final LongAdder dropped;
+
+  /**
+   * Creates a publisher that delivers events on the common fork join pool with the default
+   * buffer size of {@link Flow#defaultBufferSize()}.
+   */
+  public RosterChangePublisher() {
+    this(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+  }
+
+  /**
+   * Creates a publisher that delivers events on the given executor.
+   *
+   * @param executor       the executor that delivers events to the subscribers
+   * @param bufferCapacity the number of events buffered for each subscriber
+   * @throws IllegalArgumentException if the executor is null or the capacity is not positive
+   */
+  public RosterChangePublisher(Executor executor, int bufferCapacity)
+      throws IllegalArgumentException {
+    if (executor == null || bufferCapacity < 1) {
+      throw new IllegalArgumentException("Executor cannot be null and capacity must be positive");
+    }
+    this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    this.sequence = new AtomicLong();
+    this.dropped = new LongAdder();
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super RosterChangeEvent> subscriber) {
+    publisher.subscribe(subscriber);
+  }
+
+  /**
+   * Returns the number of events that were dropped because a subscriber's buffer was full,
+   * counted once for each subscriber that missed the event.
+   *
+   * @return the number of dropped events
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Returns the number of current subscribers.
+   *
+   * @return the number of subscribers
+   */
+  public int getSubscriberCount() {
+    return publisher.getNumberOfSubscribers();
+  }
+
+  /**
+   * Completes every subscriber after its buffered events. Changes after closing are ignored.
+   */
+  @Override
+  public void close() {
+    publisher.close();
+  }
+
+  @Override
+  public void playerAdded(Player player) {
+    publish(RosterChangeEvent.Type.PLAYER_ADDED, player);
+  }
+
+  @Override
+  public void playerRemoved(Player player) {
+    publish(RosterChangeEvent.Type.PLAYER_REMOVED, player);
+  }
+
+  @Override
+  public void jerseyAssigned(Player player) {
+    publish(RosterChangeEvent.Type.JERSEY_ASSIGNED, player);
+  }
+
+  @Override
+  public void lineupGenerated(List<Player> startingLineup) {
+    if (publisher.isClosed() || !publisher.hasSubscribers()) {
+      return;
+    }
+    offer(new RosterChangeEvent(sequence.incrementAndGet(), startingLineup));
+  }
+
+  /**
+   * Publishes a change to one player.
+   *
+   * @param type   the kind of change
+   * @param player the player
+   */
+  private void publish(RosterChangeEvent.Type type, Player player) {
+    // skip building the event when nobody listens
+    if (publisher.isClosed() || !publisher.hasSubscribers()) {
+      return;
+    }
+    offer(new RosterChangeEvent(type, sequence.incrementAndGet(), player));
+  }
+
+  /**
+   * Offers an event to every subscriber without waiting, dropping it for full subscribers.
+   *
+   * @param event the event
+   */
+  private void offer(RosterChangeEvent event) {
+    try {
+      publisher.offer(event, (subscriber, item) -> {
+        dropped.increment();
+        return false;
+      });
+    } catch (IllegalStateException e) {
+      // closed by another thread in the meantime
+    }
+  }
+}
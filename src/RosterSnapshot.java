@@ -0,0 +1,265 @@
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class is one version of the roster of a {@link VersionedSoccerTeamModel}: the players,
+ * the team and the starting lineup as they were after a change.
+ * A snapshot never changes, so it can be read on any thread while the model keeps changing.
+ */
+public final class RosterSnapshot {
+  private final long version;
+  private final Instant timestamp;
+  private final PlayerStateList players;
+  private final List<PlayerState> team;
+  private final List<PlayerState> startingLineup;
+
+  /**
+   * The details of a player in one or more versions. Players who did not change between
+   * versions share the same state.
+   */
+  public static final class PlayerState {
+    private final String id;
+    private final String lastName;
+    private final String firstName;
+    private final LocalDate birthdate;
+    private final Position preferredPosition;
+    private final int skillLevel;
+    private final Integer jerseyNumber;
+    private final Position assignedPosition;
+
+    /**
+     * Copies the details of a player.
+     *
+     * @param player the player
+     */
+    PlayerState(Player player) {
+      this.id = player.getId();
+      this.lastName = player.getLastName();
+      this.firstName = player.getFirstName();
+      this.birthdate = player.getBirthdate();
+      this.preferredPosition = player.getPreferredPosition();
+      this.skillLevel = player.getSkillLevel();
+      this.jerseyNumber = player.getJerseyNumber();
+      this.assignedPosition = player.getAssignedPosition();
+    }
+
+    /**
+     * Returns whether a player still has the details of this state.
+     *
+     * @param player the player with the same id
+     * @return true if no detail changed
+     */
+    boolean matches(Player player) {
+      return skillLevel == player.getSkillLevel()
+          && preferredPosition == player.getPreferredPosition()
+          && assignedPosition == player.getAssignedPosition()
+          && Objects.equals(jerseyNumber, player.getJerseyNumber())
+          && lastName.equals(player.getLastName())
+          && firstName.equals(player.getFirstName())
+          && birthdate.toEpochDay() == player.getBirthEpochDay();
+    }
+
+    /**
+     * Returns the unique identifier of the player.
+     *
+     * @return the unique identifier of the player
+     */
+    public String getId() {
+      return id;
+    }
+
+    /**
+     * Returns the last name of the player.
+     *
+     * @return the last name of the player
+     */
+    public String getLastName() {
+      return lastName;
+    }
+
+    /**
+     * Returns the first name of the player.
+     *
+     * @return the first name of the player
+     */
+    public String getFirstName() {
+      return firstName;
+    }
+
+    /**
+     * Returns the birthdate of the player.
+     *
+     * @return the birthdate of the player
+     */
+    public LocalDate getBirthdate() {
+      return birthdate;
+    }
+
+    /**
+     * Returns the preferred position of the player.
+     *
+     * @return the preferred position of the player
+     */
+    public Position getPreferredPosition() {
+      return preferredPosition;
+    }
+
+    /**
+     * Returns the skill level of the player.
+     *
+     * @return the skill level of the player
+     */
+    public int getSkillLevel() {
+      return skillLevel;
+    }
+
+    /**
+     * Returns the jersey number of the player.
+     *
+     * @return the jersey number of the player, or null if the player had none
+     */
+    public Integer getJerseyNumber() {
+      return jerseyNumber;
+    }
+
+    /**
+     * Returns the assigned position of the player.
+     *
+     * @return the assigned position of the player, or null if the player had none
+     */
+    public Position getAssignedPosition() {
+      return assignedPosition;
+    }
+
+    /**
+     * Returns a string representation of the player state.
+     *
+     * @return a string representation of the player state
+     */
+    @Override
+    public String toString() {
+      return "PlayerState{"
+          + "lastName: '" + lastName + '\''
+          + ", firstName: '" + firstName + '\''
+          + ", jerseyNumber: " + jerseyNumber
+          + ", id: '" + id + '\''
+          + '}';
+    }
+  }
+
+  /**
+   * Creates a snapshot.
+   *
+   * @param version        the version number
+   * @param timestamp      when the version was made
+   * @param players        the states of the registered players, shared with other versions
+   * @param team           the states of the team members
+   * @param startingLineup the states of the starting lineup
+   */
+  RosterSnapshot(long version, Instant timestamp, PlayerStateList players,
+                 List<PlayerState> team, List<PlayerState> startingLineup) {
+    this.version = version;
+    this.timestamp = timestamp;
+    this.players = players;
+    this.team = Collections.unmodifiableList(team);
+    this.startingLineup = Collections.unmodifiableList(startingLineup);
+  }
+
+  /**
+   * Returns the version number. Every change of the model makes a new version, numbered from 1.
+   *
+   * @return the version number
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns when the version was made.
+   *
+   * @return the time of the version
+   */
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Returns the registered players in this version.
+   *
+   * @return the players, which cannot be changed
+   */
+  public List<PlayerState> getPlayers() {
+    return players;
+  }
+
+  /**
+   * Returns the team members in this version.
+   *
+   * @return the team members, which cannot be changed
+   */
+  public List<PlayerState> getTeam() {
+    return team;
+  }
+
+  /**
+   * Returns the starting lineup in this version.
+   *
+   * @return the starting lineup, which cannot be changed
+   */
+  public List<PlayerState> getStartingLineup() {
+    return startingLineup;
+  }
+
+  /**
+   * Returns the team member who wore the given jersey number in this version.
+   *
+   * @param jerseyNumber the jersey number
+   * @return the team member, or null if nobody wore the number
+   */
+  public PlayerState findByJerseyNumber(int jerseyNumber) {
+    for (PlayerState player : team) {
+      if (player.getJerseyNumber() != null && player.getJerseyNumber() == jerseyNumber) {
+        return player;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether this snapshot holds the same player states as the given lists, compared
+   * by identity. The players are compared as a whole, since a list of player states that did
+   * not change is the same list.
+   *
+   * @param players        the states of the registered players
+   * @param team           the states of the team members
+   * @param startingLineup the states of the starting lineup
+   * @return true if nothing changed
+   */
+  boolean sameAs(PlayerStateList players, List<PlayerState> team,
+                 List<PlayerState> startingLineup) {
+    return this.players == players && sameStates(this.team, team)
+        && sameStates(this.startingLineup, startingLineup);
+  }
+
+  /**
+   * Returns whether two lists hold the same states in the same order.
+   *
+   * @param first  the first list
+   * @param second the second list
+   * @return true if the lists hold the same states
+   */
+  private static boolean sameStates(List<PlayerState> first, List<PlayerState> second) {
+    if (first.size() != second.size()) {
+      return false;
+    }
+    for (int i = 0; i < first.size(); i++) {
+      if (first.get(i) != second.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,206 @@
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * This class holds running statistics of a group of players: the number of players and their
+ * total skill per preferred position, the number of players born in each year, and for a team
+ * the number of starting lineup places filled per position.
+ * The statistics are updated by their owner whenever a player joins or leaves, so reading
+ * them does not depend on the number of players. Changes made to a player's position, skill
+ * level or birthdate while the player is counted are not seen: the values counted when the
+ * player joined are kept and taken away again when the player leaves.
+ * The statistics are updated by the thread that changes the model and can be read from any
+ * thread.
+ */
+public class RosterStatistics {
+  private static final Position[] POSITIONS = Position.values();
+  private static final int SKILL_BITS = 3;
+  private static final int POSITION_BITS = 2;
+  private static final int[] LINEUP_SLOTS = {SoccerTeamModelImpl.NUMBER_OF_GOALIE,
+      SoccerTeamModelImpl.NUMBER_OF_DEFENDERS, SoccerTeamModelImpl.NUMBER_OF_MIDFIELDERS,
+      SoccerTeamModelImpl.NUMBER_OF_FORWARD};
+  private final int[] playerCounts;
+  private final long[] skillSums;
+  private final int[] lineupCounts;
+  private final Map<Integer, Integer> birthYearCounts;
+  private final Map<UUID, Integer> counted;
+  private int playerCount;
+  private long skillSum;
+
+  /**
+   * Creates statistics of no players.
+   */
+  RosterStatistics() {
+    this.playerCounts = new int[POSITIONS.length];
+    this.skillSums = new long[POSITIONS.length];
+    this.lineupCounts = new int[POSITIONS.length];
+    this.birthYearCounts = new TreeMap<>();
+    this.counted = new HashMap<>();
+  }
+
+  /**
+   * Returns the number of players.
+   *
+   * @return the number of players
+   */
+  public synchronized int getPlayerCount() {
+    return playerCount;
+  }
+
+  /**
+   * Returns the number of players who prefer the given position.
+   *
+   * @param position the position
+   * @return the number of players
+   */
+  public synchronized int getPlayerCount(Position position) {
+    return playerCounts[position.ordinal()];
+  }
+
+  /**
+   * Returns the average skill level of all players.
+   *
+   * @return the average skill level, or 0 if there are no players
+   */
+  public synchronized double getAverageSkill() {
+    return playerCount == 0 ? 0 : (double) skillSum / playerCount;
+  }
+
+  /**
+   * Returns the average skill level of the players who prefer the given position.
+   *
+   * @param position the position
+   * @return the average skill level, or 0 if no player prefers the position
+   */
+  public synchronized double getAverageSkill(Position position) {
+    int count = playerCounts[position.ordinal()];
+    return count == 0 ? 0 : (double) skillSums[position.ordinal()] / count;
+  }
+
+  /**
+   * Returns the number of players born in each year, ordered by year.
+   *
+   * @return a copy of the number of players by birth year, which cannot be changed
+   */
+  public synchronized Map<Integer, Integer> getBirthYearCounts() {
+    return Collections.unmodifiableMap(new TreeMap<>(birthYearCounts));
+  }
+
+  /**
+   * Returns the number of starting lineup places assigned the given position. Only teams
+   * have a starting lineup; for a registry it is always 0.
+   *
+   * @param position the position
+   * @return the number of lineup places
+   */
+  public synchronized int getLineupCount(Position position) {
+    return lineupCounts[position.ordinal()];
+  }
+
+  /**
+   * Returns whether the starting lineup has as many players at the given position as the
+   * position needs.
+   *
+   * @param position the position
+   * @return true if the position is covered
+   */
+  public synchronized boolean isCovered(Position position) {
+    return lineupCounts[position.ordinal()] >= LINEUP_SLOTS[position.ordinal()];
+  }
+
+  /**
+   * Counts a player who joined, and remembers the counted position, skill level and birth
+   * year of the player.
+   *
+   * @param player the player
+   */
+  synchronized void add(Player player) {
+    int position = player.getPreferredPosition().ordinal();
+    int skillLevel = player.getSkillLevel();
+    int birthYear = birthYear(player);
+    Integer previous = counted.put(player.getUuid(),
+        (birthYear << (POSITION_BITS + SKILL_BITS)) | (position << SKILL_BITS) | skillLevel);
+    if (previous != null) {
+      uncount(previous);
+    }
+    playerCount++;
+    skillSum += skillLevel;
+    playerCounts[position]++;
+    skillSums[position] += skillLevel;
+    birthYearCounts.merge(birthYear, 1, Integer::sum);
+  }
+
+  /**
+   * Stops counting a player who left, taking away the values counted when the player joined.
+   *
+   * @param player the player
+   */
+  synchronized void remove(Player player) {
+    Integer values = counted.remove(player.getUuid());
+    if (values != null) {
+      uncount(values);
+    }
+  }
+
+  /**
+   * Takes the counted values of a player away from the statistics.
+   *
+   * @param values the birth year, position and skill level of the player, packed by
+   *               {@link #add}
+   */
+  private void uncount(int values) {
+    int skillLevel = values & ((1 << SKILL_BITS) - 1);
+    int position = (values >>> SKILL_BITS) & ((1 << POSITION_BITS) - 1);
+    int birthYear = values >> (POSITION_BITS + SKILL_BITS);
+    playerCount--;
+    skillSum -= skillLevel;
+    playerCounts[position]--;
+    skillSums[position] -= skillLevel;
+    birthYearCounts.computeIfPresent(birthYear,
+        (year, count) -> count > 1 ? count - 1 : null);
+  }
+
+  /**
+   * Counts the positions of a new starting lineup.
+   *
+   * @param startingLineup the players of the starting lineup
+   */
+  synchronized void setLineup(Collection<Player> startingLineup) {
+    Arrays.fill(lineupCounts, 0);
+    for (Player player : startingLineup) {
+      Position position = player.getAssignedPosition();
+      if (position != null) {
+        lineupCounts[position.ordinal()]++;
+      }
+    }
+  }
+
+  /**
+   * Forgets every player and the starting lineup.
+   */
+  synchronized void clear() {
+    counted.clear();
+    Arrays.fill(playerCounts, 0);
+    Arrays.fill(skillSums, 0);
+    Arrays.fill(lineupCounts, 0);
+    birthYearCounts.clear();
+    playerCount = 0;
+    skillSum = 0;
+  }
+
+  /**
+   * Returns the birth year of a player.
+   *
+   * @param player the player
+   * @return the birth year
+   */
+  private static int birthYear(Player player) {
+    return LocalDate.ofEpochDay(player.getBirthEpochDay()).getYear();
+  }
+}
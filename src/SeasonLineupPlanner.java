@@ -0,0 +1,227 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class plans the starting lineups of a team for a whole season.
+ * Every match starts the available players with the fewest starts so far, so that playing
+ * time is shared fairly over the season. Among players with the same number of starts,
+ * players whose preferred position is still open are chosen first, then the more skilled.
+ * When the availability for a match changes, only that match and the later matches are
+ * planned again.
+ */
+public class SeasonLineupPlanner {
+  private static final Position[] POSITIONS = Position.values();
+  private static final int[] POSITION_SLOTS = {SoccerTeamModelImpl.NUMBER_OF_GOALIE,
+      SoccerTeamModelImpl.NUMBER_OF_DEFENDERS, SoccerTeamModelImpl.NUMBER_OF_MIDFIELDERS,
+      SoccerTeamModelImpl.NUMBER_OF_FORWARD};
+  private final Player[] players;
+  private final Map<String, Integer> playerIndexes;
+  private final LocalDate[] matchDates;
+  private final Map<LocalDate, Integer> matchIndexes;
+  private final boolean[][] unavailable;
+  private final Position[][] lineups;
+  private final int[][] startsBefore;
+
+  /**
+   * Creates a planner for the players of the given team and plans every match.
+   *
+   * @param team       the team
+   * @param matchDates the dates of the matches of the season
+   * @throws IllegalArgumentException if the team or the dates are null, or a date is null or
+   *                                  appears twice
+   */
+  public SeasonLineupPlanner(Team team, Collection<LocalDate> matchDates)
+      throws IllegalArgumentException {
+    if (team == null || matchDates == null) {
+      throw new IllegalArgumentException("Team and match dates cannot be null");
+    }
+    this.players = team.getPlayers().toArray(new Player[0]);
+    this.playerIndexes = new HashMap<>();
+    for (int i = 0; i < players.length; i++) {
+      playerIndexes.put(players[i].getId(), i);
+    }
+    this.matchDates = matchDates.toArray(new LocalDate[0]);
+    // check for null dates before sorting, which would throw a NullPointerException
+    for (LocalDate matchDate : this.matchDates) {
+      if (matchDate == null) {
+        throw new IllegalArgumentException("Match dates cannot be null or repeated");
+      }
+    }
+    Arrays.sort(this.matchDates);
+    this.matchIndexes = new HashMap<>();
+    for (int i = 0; i < this.matchDates.length; i++) {
+      if (matchIndexes.put(this.matchDates[i], i) != null) {
+        throw new IllegalArgumentException("Match dates cannot be null or repeated");
+      }
+    }
+    this.unavailable = new boolean[this.matchDates.length][players.length];
+    this.lineups = new Position[this.matchDates.length][players.length];
+    this.startsBefore = new int[this.matchDates.length + 1][players.length];
+    planFrom(0);
+  }
+
+  /**
+   * Sets the players who cannot play in a match and plans that match and the later matches
+   * again. Earlier matches keep their lineups.
+   *
+   * @param matchDate the date of the match
+   * @param playerIds the ids of the players who cannot play, replacing the ones set before
+   * @throws IllegalArgumentException if there is no match on the date or the ids are null
+   */
+  public void setUnavailablePlayers(LocalDate matchDate, Collection<String> playerIds)
+      throws IllegalArgumentException {
+    if (playerIds == null) {
+      throw new IllegalArgumentException("Player ids cannot be null");
+    }
+    int match = matchIndexOf(matchDate);
+    Arrays.fill(unavailable[match], false);
+    for (String id : playerIds) {
+      Integer player = playerIndexes.get(id);
+      if (player != null) {
+        unavailable[match][player] = true;
+      }
+    }
+    planFrom(match);
+  }
+
+  /**
+   * Returns the dates of the matches, in order.
+   *
+   * @return the dates of the matches
+   */
+  public List<LocalDate> getMatchDates() {
+    return List.of(matchDates);
+  }
+
+  /**
+   * Returns the starting lineup of a match, ordered by position.
+   *
+   * @param matchDate the date of the match
+   * @return the players of the starting lineup with their positions
+   * @throws IllegalArgumentException if there is no match on the date
+   */
+  public Map<Player, Position> getLineup(LocalDate matchDate) throws IllegalArgumentException {
+    Position[] lineup = lineups[matchIndexOf(matchDate)];
+    Map<Player, Position> result = new LinkedHashMap<>();
+    for (Position position : POSITIONS) {
+      for (int i = 0; i < players.length; i++) {
+        if (lineup[i] == position) {
+          result.put(players[i], position);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of matches of the season that a player starts.
+   *
+   * @param playerId the id of the player
+   * @return the number of starts
+   * @throws IllegalArgumentException if the player is not in the team
+   */
+  public int getStarts(String playerId) throws IllegalArgumentException {
+    Integer player = playerIndexes.get(playerId);
+    if (player == null) {
+      throw new IllegalArgumentException("Player not found in the team");
+    }
+    return startsBefore[matchDates.length][player];
+  }
+
+  /**
+   * Returns the index of a match.
+   *
+   * @param matchDate the date of the match
+   * @return the index of the match
+   * @throws IllegalArgumentException if there is no match on the date
+   */
+  private int matchIndexOf(LocalDate matchDate) throws IllegalArgumentException {
+    Integer match = matchDate == null ? null : matchIndexes.get(matchDate);
+    if (match == null) {
+      throw new IllegalArgumentException("No match on " + matchDate);
+    }
+    return match;
+  }
+
+  /**
+   * Plans the given match and every later match.
+   *
+   * @param firstMatch the index of the first match to plan
+   */
+  private void planFrom(int firstMatch) {
+    for (int match = firstMatch; match < matchDates.length; match++) {
+      int[] starts = startsBefore[match];
+      planMatch(match, starts);
+      for (int i = 0; i < players.length; i++) {
+        startsBefore[match + 1][i] = starts[i] + (lineups[match][i] != null ? 1 : 0);
+      }
+    }
+  }
+
+  /**
+   * Plans the lineup of one match.
+   *
+   * @param match  the index of the match
+   * @param starts the number of starts of every player before the match
+   */
+  private void planMatch(int match, int[] starts) {
+    Position[] lineup = lineups[match];
+    Arrays.fill(lineup, null);
+
+    // order the available players by starts so far, then by skill
+    List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < players.length; i++) {
+      if (!unavailable[match][i]) {
+        candidates.add(i);
+      }
+    }
+    candidates.sort(Comparator.<Integer>comparingInt(i -> starts[i])
+        .thenComparing(i -> -players[i].getSkillLevel()));
+
+    int[] openSlots = POSITION_SLOTS.clone();
+    int selected = 0;
+    int groupStart = 0;
+    while (selected < SoccerTeamModelImpl.LINEUP_LIMIT && groupStart < candidates.size()) {
+      // the players with the same number of starts form a group
+      int groupEnd = groupStart;
+      while (groupEnd < candidates.size()
+          && starts[candidates.get(groupEnd)] == starts[candidates.get(groupStart)]) {
+        groupEnd++;
+      }
+
+      // first give players of the group their preferred position
+      for (int k = groupStart; k < groupEnd && selected < SoccerTeamModelImpl.LINEUP_LIMIT;
+           k++) {
+        int player = candidates.get(k);
+        int preferred = players[player].getPreferredPosition().ordinal();
+        if (openSlots[preferred] > 0) {
+          openSlots[preferred]--;
+          lineup[player] = POSITIONS[preferred];
+          selected++;
+        }
+      }
+
+      // then fill the open positions with the rest of the group
+      for (int k = groupStart; k < groupEnd && selected < SoccerTeamModelImpl.LINEUP_LIMIT;
+           k++) {
+        int player = candidates.get(k);
+        for (int position = 0; lineup[player] == null && position < POSITIONS.length;
+             position++) {
+          if (openSlots[position] > 0) {
+            openSlots[position]--;
+            lineup[player] = POSITIONS[position];
+            selected++;
+          }
+        }
+      }
+      groupStart = groupEnd;
+    }
+  }
+}
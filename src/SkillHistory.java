@@ -0,0 +1,314 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class keeps the history of the skill levels and positions of players, so that their
+ * progress can be reviewed across seasons.
+ * The history of every player is one byte array: each change is stored as the number of days
+ * since the previous change, written in as few bytes as it needs, followed by one byte that
+ * holds both the skill level and the position. Most changes therefore take two bytes.
+ * Added to a model as a listener, the history records every registered player and every
+ * assigned position. Skill changes made with {@link Player#setSkillLevel} are not reported by
+ * the model and must be recorded with {@link #record(Player, LocalDate)}.
+ */
+public class SkillHistory implements SoccerTeamModelListener {
+  private static final Position[] POSITIONS = Position.values();
+  private static final int SKILL_BITS = 3;
+  private static final int SKILL_MASK = (1 << SKILL_BITS) - 1;
+  private final Clock clock;
+  private final Map<String, Series> series;
+  private long recordCount;
+
+  /**
+   * A change of the skill level or position of a player.
+   */
+  public static final class Entry {
+    private final LocalDate date;
+    private final int skillLevel;
+    private final Position position;
+
+    /**
+     * Creates an entry.
+     *
+     * @param date       the date of the change
+     * @param skillLevel the skill level from that date on
+     * @param position   the position from that date on
+     */
+    Entry(LocalDate date, int skillLevel, Position position) {
+      this.date = date;
+      this.skillLevel = skillLevel;
+      this.position = position;
+    }
+
+    /**
+     * Returns the date of the change.
+     *
+     * @return the date of the change
+     */
+    public LocalDate getDate() {
+      return date;
+    }
+
+    /**
+     * Returns the skill level from the date of the change on.
+     *
+     * @return the skill level
+     */
+    public int getSkillLevel() {
+      return skillLevel;
+    }
+
+    /**
+     * Returns the position from the date of the change on.
+     *
+     * @return the position
+     */
+    public Position getPosition() {
+      return position;
+    }
+
+    /**
+     * Returns a string representation of the entry.
+     *
+     * @return a string representation of the entry
+     */
+    @Override
+    public String toString() {
+      return "Entry{"
+          + "date: " + date
+          + ", skillLevel: " + skillLevel
+          + ", position: " + position
+          + '}';
+    }
+  }
+
+  /**
+   * The encoded changes of one player.
+   */
+  private static final class Series {
+    private final int firstDay;
+    private byte[] data;
+    private int length;
+    private int lastDay;
+    private int lastState;
+
+    Series(int firstDay) {
+      this.firstDay = firstDay;
+      this.data = new byte[8];
+      this.lastDay = firstDay;
+      this.lastState = -1;
+    }
+
+    /**
+     * Appends a change.
+     *
+     * @param day   the epoch day of the change
+     * @param state the packed skill level and position
+     */
+    void append(int day, int state) {
+      if (length + 6 > data.length) {
+        data = Arrays.copyOf(data, data.length * 2);
+      }
+      int delta = day - lastDay;
+      while ((delta & ~0x7F) != 0) {
+        data[length++] = (byte) ((delta & 0x7F) | 0x80);
+        delta >>>= 7;
+      }
+      data[length++] = (byte) delta;
+      data[length++] = (byte) state;
+      lastDay = day;
+      lastState = state;
+    }
+  }
+
+  /**
+   * Creates a history that dates the changes reported by a model with the system clock.
+   */
+  public SkillHistory() {
+    this(Clock.systemDefaultZone());
+  }
+
+  /**
+   * Creates a history that dates the changes reported by a model with the given clock.
+   *
+   * @param clock the clock
+   * @throws IllegalArgumentException if the clock is null
+   */
+  public SkillHistory(Clock clock) throws IllegalArgumentException {
+    if (clock == null) {
+      throw new IllegalArgumentException("Clock cannot be null");
+    }
+    this.clock = clock;
+    this.series = new HashMap<>();
+  }
+
+  /**
+   * Records the current skill level and position of a player. The position is the assigned
+   * position if the player has one, and the preferred position otherwise. Nothing is recorded
+   * if neither changed since the last record of the player.
+   *
+   * @param player the player
+   * @param date   the date of the change
+   * @throws IllegalArgumentException if the player or the date is null, or the date is before
+   *                                  the last record of the player
+   */
+  public void record(Player player, LocalDate date) throws IllegalArgumentException {
+    if (player == null) {
+      throw new IllegalArgumentException("Player cannot be null");
+    }
+    Position position = player.getAssignedPosition() != null
+        ? player.getAssignedPosition() : player.getPreferredPosition();
+    record(player.getId(), date, player.getSkillLevel(), position);
+  }
+
+  /**
+   * Records the skill level and position of a player. Nothing is recorded if neither changed
+   * since the last record of the player.
+   *
+   * @param playerId   the id of the player
+   * @param date       the date of the change
+   * @param skillLevel the skill level
+   * @param position   the position
+   * @throws IllegalArgumentException if any argument is null, the skill level is not between
+   *                                  1 and 5, or the date is before the last record of the
+   *                                  player
+   */
+  public synchronized void record(String playerId, LocalDate date, int skillLevel,
+                                  Position position) throws IllegalArgumentException {
+    if (playerId == null || date == null || position == null) {
+      throw new IllegalArgumentException("Player id, date and position cannot be null");
+    }
+    if (skillLevel < 1 || skillLevel > 5) {
+      throw new IllegalArgumentException("Skill level must be between 1 and 5.");
+    }
+    int day = (int) date.toEpochDay();
+    Series playerSeries = series.computeIfAbsent(playerId, id -> new Series(day));
+    if (day < playerSeries.lastDay) {
+      throw new IllegalArgumentException("Changes must be recorded in date order");
+    }
+    int state = position.ordinal() << SKILL_BITS | skillLevel;
+    if (state != playerSeries.lastState) {
+      playerSeries.append(day, state);
+      recordCount++;
+    }
+  }
+
+  /**
+   * Returns the recorded changes of a player, oldest first.
+   *
+   * @param playerId the id of the player
+   * @return the changes of the player, empty if none were recorded
+   */
+  public synchronized List<Entry> getTrajectory(String playerId) {
+    List<Entry> entries = new ArrayList<>();
+    Series playerSeries = series.get(playerId);
+    if (playerSeries == null) {
+      return entries;
+    }
+    byte[] data = playerSeries.data;
+    int day = playerSeries.firstDay;
+    int i = 0;
+    while (i < playerSeries.length) {
+      // read the day delta, seven bits per byte
+      int delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[i++];
+        delta |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      day += delta;
+      int state = data[i++];
+      entries.add(new Entry(LocalDate.ofEpochDay(day), state & SKILL_MASK,
+          POSITIONS[state >>> SKILL_BITS]));
+    }
+    return entries;
+  }
+
+  /**
+   * Returns the players whose skill level went up by at least the given amount between two
+   * dates. The skill level at a date is the last one recorded on or before that date; for a
+   * player first recorded after the start date, the first recorded skill level is used.
+   *
+   * @param minimum the minimum improvement, at least 1
+   * @param from    the start date
+   * @param to      the end date
+   * @return the ids of the players who improved
+   * @throws IllegalArgumentException if the minimum is not positive, a date is null or the end
+   *                                  date is before the start
+   */
+  public synchronized List<String> playersImprovedBy(int minimum, LocalDate from, LocalDate to)
+      throws IllegalArgumentException {
+    if (minimum < 1) {
+      throw new IllegalArgumentException("Minimum improvement must be positive");
+    }
+    if (from == null || to == null || to.isBefore(from)) {
+      throw new IllegalArgumentException("Dates cannot be null and must be in order");
+    }
+    int fromDay = (int) from.toEpochDay();
+    int toDay = (int) to.toEpochDay();
+    List<String> improved = new ArrayList<>();
+    for (Map.Entry<String, Series> entry : series.entrySet()) {
+      Series playerSeries = entry.getValue();
+      if (playerSeries.firstDay > toDay) {
+        continue;
+      }
+
+      // walk the changes up to the end date without building entries
+      byte[] data = playerSeries.data;
+      int day = playerSeries.firstDay;
+      int startSkill = -1;
+      int endSkill = -1;
+      int i = 0;
+      while (i < playerSeries.length) {
+        int delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = data[i++];
+          delta |= (b & 0x7F) << shift;
+          shift += 7;
+        } while (b < 0);
+        day += delta;
+        if (day > toDay) {
+          break;
+        }
+        int skill = data[i++] & SKILL_MASK;
+        if (day <= fromDay || startSkill < 0) {
+          startSkill = skill;
+        }
+        endSkill = skill;
+      }
+      // a player with no skill level up to the end date did not improve
+      if (endSkill >= 0 && endSkill - startSkill >= minimum) {
+        improved.add(entry.getKey());
+      }
+    }
+    return improved;
+  }
+
+  /**
+   * Returns the number of changes recorded for all players.
+   *
+   * @return the number of changes
+   */
+  public synchronized long getRecordCount() {
+    return recordCount;
+  }
+
+  @Override
+  public void playerAdded(Player player) {
+    record(player, LocalDate.now(clock));
+  }
+
+  @Override
+  public void positionAssigned(Player player) {
+    record(player, LocalDate.now(clock));
+  }
+}
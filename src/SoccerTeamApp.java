@@ -1,5 +1,7 @@
 
 
+import java.lang.management.ManagementFactory;
+
 /**
  * The main class for the Soccer Team Management application.
  */
@@ -11,10 +13,13 @@ public class SoccerTeamApp {
    */
   public static void main(String[] args) {
     // Create the model, view, and controller
-    SoccerTeamModel model = new SoccerTeamModelImpl();
+    InstrumentedSoccerTeamModel model = new InstrumentedSoccerTeamModel(new SoccerTeamModelImpl());
     SoccerTeamView view = new SoccerTeamView();
     SoccerTeamController controller = new SoccerTeamController(model, view);
 
+    // Publish the model metrics over JMX
+    model.getMetrics().register(ManagementFactory.getPlatformMBeanServer(), "default");
+
     // Set the view visible
     view.setVisible(true);
   }
@@ -4,8 +4,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Date;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -41,8 +40,18 @@ public class SoccerTeamController {
 
   /**
    * The listener for the Add Player button.
+   * The dialog components are created on the first click and reused for every later click,
+   * so entering many players in a row does not build a new dialog each time.
    */
   class AddPlayerListener implements ActionListener {
+    private JPanel panel;
+    private JSpinner birthdateSpinner;
+    private JSpinner.DateEditor dateEditor;
+    private JComboBox<Position> positionComboBox;
+    private JComboBox<Integer> skillLevelComboBox;
+    private JTextField firstNameField;
+    private JTextField lastNameField;
+
     /**
      * Shows a dialog to add a new player to the model and view.
      *
@@ -50,31 +59,10 @@ public class SoccerTeamController {
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-      // Create the birthdate spinner
-      JSpinner birthdateSpinner = new JSpinner(new SpinnerDateModel());
-      JSpinner.DateEditor dateEditor = new JSpinner.DateEditor(birthdateSpinner, "yyyy-MM-dd");
-      birthdateSpinner.setEditor(dateEditor);
-
-      // Create the position and skill level combo boxes
-      JComboBox<Position> positionComboBox = new JComboBox<>(Position.values());
-      JComboBox<Integer> skillLevelComboBox = new JComboBox<>(new Integer[] {1, 2, 3, 4, 5});
-
-      // Create the input fields
-      JTextField firstNameField = new JTextField();
-      JTextField lastNameField = new JTextField();
-
-      // Create the panel
-      JPanel panel = new JPanel(new GridLayout(0, 1));
-      panel.add(new JLabel("First Name:"));
-      panel.add(firstNameField);
-      panel.add(new JLabel("Last Name:"));
-      panel.add(lastNameField);
-      panel.add(new JLabel("Birthdate:"));
-      panel.add(birthdateSpinner);
-      panel.add(new JLabel("Preferred Position:"));
-      panel.add(positionComboBox);
-      panel.add(new JLabel("Skill Level:"));
-      panel.add(skillLevelComboBox);
+      if (panel == null) {
+        createPanel();
+      }
+      resetPanel();
 
       // Show the dialog
       int result =
@@ -95,11 +83,56 @@ public class SoccerTeamController {
           model.addPlayer(lastName, firstName, birthdate, position, skillLevel);
           view.addPlayerToTable(firstName, lastName, birthdate.format(DateTimeFormatter.ISO_DATE),
               position.name(), skillLevel);
+        } catch (IllegalArgumentException ex) {
+          // invalid details or a player who is already registered
+          view.showError(ex.getMessage());
         } catch (IllegalStateException ex) {
           view.showError("Invalid player details: " + ex.getMessage());
         }
       }
     }
+
+    /**
+     * Creates the components of the dialog.
+     */
+    private void createPanel() {
+      // Create the birthdate spinner
+      birthdateSpinner = new JSpinner(new SpinnerDateModel());
+      dateEditor = new JSpinner.DateEditor(birthdateSpinner, "yyyy-MM-dd");
+      birthdateSpinner.setEditor(dateEditor);
+
+      // Create the position and skill level combo boxes
+      positionComboBox = new JComboBox<>(Position.values());
+      skillLevelComboBox = new JComboBox<>(new Integer[] {1, 2, 3, 4, 5});
+
+      // Create the input fields
+      firstNameField = new JTextField();
+      lastNameField = new JTextField();
+
+      // Create the panel
+      panel = new JPanel(new GridLayout(0, 1));
+      panel.add(new JLabel("First Name:"));
+      panel.add(firstNameField);
+      panel.add(new JLabel("Last Name:"));
+      panel.add(lastNameField);
+      panel.add(new JLabel("Birthdate:"));
+      panel.add(birthdateSpinner);
+      panel.add(new JLabel("Preferred Position:"));
+      panel.add(positionComboBox);
+      panel.add(new JLabel("Skill Level:"));
+      panel.add(skillLevelComboBox);
+    }
+
+    /**
+     * Clears the input of the previous player, so the dialog opens as if it were new.
+     */
+    private void resetPanel() {
+      firstNameField.setText("");
+      lastNameField.setText("");
+      birthdateSpinner.setValue(new Date());
+      positionComboBox.setSelectedIndex(0);
+      skillLevelComboBox.setSelectedIndex(0);
+    }
   }
 
   /**
@@ -139,7 +172,7 @@ public class SoccerTeamController {
     public void actionPerformed(ActionEvent e) {
       try {
         model.generateTeam();
-        view.showTeam(new ArrayList<>(model.getTeam().getPlayers()));
+        view.showTeam(model.getTeam());
       } catch (IllegalStateException ex) {
         view.showError(ex.getMessage());
       }
@@ -154,8 +187,7 @@ public class SoccerTeamController {
     public void actionPerformed(ActionEvent e) {
       try {
         model.generateStartingLineup();
-        List<Player> lineup = model.getTeam().getStartingLineup();
-        view.showStartingLineup(new ArrayList<>(lineup));
+        view.showStartingLineup(model.getTeam());
       } catch (IllegalStateException ex) {
         view.showError(ex.getMessage());
       }
@@ -0,0 +1,83 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class holds the JDK Flight Recorder events of the soccer team model.
+ * Every event records the size of the roster, the number of players the operation moved and
+ * the size of the team afterwards. The events cost nothing when they are not recorded.
+ */
+public final class SoccerTeamEvents {
+
+  private SoccerTeamEvents() {
+  }
+
+  /**
+   * The fields shared by all soccer team events.
+   */
+  @Category("Soccer Team")
+  abstract static class RosterEvent extends Event {
+    @Label("Roster Size")
+    @Description("Number of players in the model")
+    int rosterSize;
+
+    @Label("Players Moved")
+    @Description("Number of players the operation added, changed or removed")
+    int playersMoved;
+
+    @Label("Team Size")
+    @Description("Number of players in the team after the operation")
+    int teamSize;
+
+    /**
+     * Sets the fields of the event and commits it if it is being recorded.
+     *
+     * @param rosterSize   the number of players in the model
+     * @param playersMoved the number of players the operation moved
+     * @param teamSize     the number of players in the team
+     */
+    void finish(int rosterSize, int playersMoved, int teamSize) {
+      if (shouldCommit()) {
+        this.rosterSize = rosterSize;
+        this.playersMoved = playersMoved;
+        this.teamSize = teamSize;
+        commit();
+      }
+    }
+  }
+
+  /**
+   * Recorded when a team is generated.
+   */
+  @Name("soccerteam.TeamGeneration")
+  @Label("Team Generation")
+  static final class TeamGeneration extends RosterEvent {
+  }
+
+  /**
+   * Recorded when a starting lineup is generated.
+   */
+  @Name("soccerteam.LineupGeneration")
+  @Label("Lineup Generation")
+  static final class LineupGeneration extends RosterEvent {
+  }
+
+  /**
+   * Recorded when jersey numbers are assigned to the players of a team, whether the team is
+   * generated or waitlisted players take free places in it.
+   */
+  @Name("soccerteam.JerseyAssignment")
+  @Label("Jersey Assignment")
+  static final class JerseyAssignment extends RosterEvent {
+  }
+
+  /**
+   * Recorded when several players are removed at once.
+   */
+  @Name("soccerteam.BulkRemoval")
+  @Label("Bulk Removal")
+  static final class BulkRemoval extends RosterEvent {
+  }
+}
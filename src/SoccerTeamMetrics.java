@@ -0,0 +1,202 @@
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class holds the metrics of a soccer team model: one {@link OperationMetrics} for each
+ * of generateTeam, generateStartingLineup, addPlayer, removePlayer and removePlayers, and the
+ * current sizes
+ * of the roster, the team and the starting lineup.
+ * The metrics can be registered with an {@link MBeanServer} to be read over JMX. The sizes are
+ * published by the thread that changes the model, so JMX threads never read the model itself.
+ */
+public class SoccerTeamMetrics implements SoccerTeamMetricsMBean {
+  public static final String DOMAIN = "SoccerTeam";
+  private final SoccerTeamModel model;
+  private final OperationMetrics generateTeam;
+  private final OperationMetrics generateStartingLineup;
+  private final OperationMetrics addPlayer;
+  private final OperationMetrics removePlayer;
+  private final OperationMetrics removePlayers;
+  private final List<ObjectName> registeredNames;
+  private volatile int rosterSize;
+  private volatile int teamSize;
+  private volatile int startingLineupSize;
+
+  /**
+   * Creates empty metrics for the given model.
+   *
+   * @param model the model whose sizes are reported
+   * @throws IllegalArgumentException if the model is null
+   */
+  public SoccerTeamMetrics(SoccerTeamModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    this.model = model;
+    this.generateTeam = new OperationMetrics("generateTeam");
+    this.generateStartingLineup = new OperationMetrics("generateStartingLineup");
+    this.addPlayer = new OperationMetrics("addPlayer");
+    this.removePlayer = new OperationMetrics("removePlayer");
+    this.removePlayers = new OperationMetrics("removePlayers");
+    this.registeredNames = new ArrayList<>();
+
+    // count the roster from the events, so that publishing does not copy the roster
+    this.rosterSize = model.getPlayers().size();
+    model.addModelListener(new SoccerTeamModelListener() {
+      @Override
+      public void playerAdded(Player player) {
+        rosterSize++;
+      }
+
+      @Override
+      public void playerRemoved(Player player) {
+        rosterSize--;
+      }
+    });
+    publishSizes();
+  }
+
+  /**
+   * Returns the metrics of generateTeam.
+   *
+   * @return the metrics of generateTeam
+   */
+  public OperationMetrics getGenerateTeam() {
+    return generateTeam;
+  }
+
+  /**
+   * Returns the metrics of generateStartingLineup.
+   *
+   * @return the metrics of generateStartingLineup
+   */
+  public OperationMetrics getGenerateStartingLineup() {
+    return generateStartingLineup;
+  }
+
+  /**
+   * Returns the metrics of addPlayer.
+   *
+   * @return the metrics of addPlayer
+   */
+  public OperationMetrics getAddPlayer() {
+    return addPlayer;
+  }
+
+  /**
+   * Returns the metrics of removePlayer.
+   *
+   * @return the metrics of removePlayer
+   */
+  public OperationMetrics getRemovePlayer() {
+    return removePlayer;
+  }
+
+  /**
+   * Returns the metrics of removePlayers.
+   *
+   * @return the metrics of removePlayers
+   */
+  public OperationMetrics getRemovePlayers() {
+    return removePlayers;
+  }
+
+  /**
+   * Returns the number of players in the model when the sizes were last published.
+   *
+   * @return the number of players
+   */
+  @Override
+  public int getRosterSize() {
+    return rosterSize;
+  }
+
+  /**
+   * Returns the number of players in the team when the sizes were last published.
+   *
+   * @return the number of players in the team
+   */
+  @Override
+  public int getTeamSize() {
+    return teamSize;
+  }
+
+  /**
+   * Returns the number of players in the starting lineup when the sizes were last published.
+   *
+   * @return the number of players in the starting lineup
+   */
+  @Override
+  public int getStartingLineupSize() {
+    return startingLineupSize;
+  }
+
+  /**
+   * Publishes the current sizes of the team and the starting lineup to the JMX readers.
+   * Must be called by the thread that changes the model.
+   */
+  void publishSizes() {
+    Team team = model.getTeam();
+    teamSize = team.size();
+    startingLineupSize = team.getStartingLineup().size();
+  }
+
+  /**
+   * Registers the metrics with the given MBean server under the {@value #DOMAIN} domain.
+   *
+   * @param server the MBean server
+   * @param name   the name that tells this model apart from other models in the server
+   * @throws IllegalArgumentException if the server or the name is null
+   * @throws IllegalStateException    if the metrics cannot be registered
+   */
+  public synchronized void register(MBeanServer server, String name)
+      throws IllegalArgumentException, IllegalStateException {
+    if (server == null || name == null || name.trim().isEmpty()) {
+      throw new IllegalArgumentException("Server and name cannot be null or empty");
+    }
+    try {
+      registerBean(server, this, new ObjectName(DOMAIN + ":type=Model,name=" + name));
+      for (OperationMetrics operation : new OperationMetrics[] {generateTeam,
+          generateStartingLineup, addPlayer, removePlayer, removePlayers}) {
+        registerBean(server, operation, new ObjectName(DOMAIN + ":type=Operation,model=" + name
+            + ",name=" + operation.getName()));
+      }
+    } catch (JMException e) {
+      unregister(server);
+      throw new IllegalStateException("Metrics cannot be registered: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Unregisters the metrics from the given MBean server.
+   *
+   * @param server the MBean server the metrics were registered with
+   */
+  public synchronized void unregister(MBeanServer server) {
+    for (ObjectName objectName : registeredNames) {
+      try {
+        server.unregisterMBean(objectName);
+      } catch (JMException e) {
+        // already unregistered
+      }
+    }
+    registeredNames.clear();
+  }
+
+  /**
+   * Registers one MBean and remembers its name so that it can be unregistered.
+   *
+   * @param server     the MBean server
+   * @param bean       the MBean
+   * @param objectName the name of the MBean
+   * @throws JMException if the MBean cannot be registered
+   */
+  private void registerBean(MBeanServer server, Object bean, ObjectName objectName)
+      throws JMException {
+    server.registerMBean(bean, objectName);
+    registeredNames.add(objectName);
+  }
+}
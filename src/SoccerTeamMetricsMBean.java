@@ -0,0 +1,26 @@
+/**
+ * The management interface of the size metrics of a soccer team model.
+ */
+public interface SoccerTeamMetricsMBean {
+
+  /**
+   * Returns the number of players in the model.
+   *
+   * @return the number of players
+   */
+  public int getRosterSize();
+
+  /**
+   * Returns the number of players in the team.
+   *
+   * @return the number of players in the team
+   */
+  public int getTeamSize();
+
+  /**
+   * Returns the number of players in the starting lineup.
+   *
+   * @return the number of players in the starting lineup
+   */
+  public int getStartingLineupSize();
+}
@@ -1,4 +1,5 @@
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -41,6 +42,16 @@ public interface SoccerTeamModel {
    */
   public void removePlayer(String id);
 
+  /**
+   * Removes several players from the team at once. Unlike {@link #removePlayer}, ids that
+   * are not found do not cause an exception but are returned.
+   *
+   * @param ids the ids of the players to remove
+   * @return the ids that were not found, in the order they were given
+   * @throws IllegalArgumentException if the ids are null
+   */
+  public List<String> removePlayers(Collection<String> ids);
+
   /**
    * Returns the list of players in the soccer team model.
    *
@@ -54,4 +65,18 @@ public interface SoccerTeamModel {
    * @return the team
    */
   public Team getTeam();
+
+  /**
+   * Adds a listener that is told about every change to the model.
+   *
+   * @param listener the listener to add
+   */
+  public void addModelListener(SoccerTeamModelListener listener);
+
+  /**
+   * Removes a listener that was added with {@link #addModelListener}.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeModelListener(SoccerTeamModelListener listener);
 }
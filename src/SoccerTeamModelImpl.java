@@ -1,10 +1,24 @@
+import java.text.Normalizer;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * This class represents a soccer team model.
@@ -19,26 +33,74 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
   public static final int NUMBER_OF_DEFENDERS = 2;
   public static final int NUMBER_OF_MIDFIELDERS = 3;
   public static final int NUMBER_OF_FORWARD = 1;
-  private List<Player> players;
+  public static final int AGE_LIMIT = 10;
+  private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+  private static final Pattern SPACES = Pattern.compile("\\s+");
+  private Map<UUID, Player> players;
+  private List<Player> playersList;
+  private NavigableSet<Player> playersByBirthdate;
   private Team team;
+  private List<SoccerTeamModelListener> listeners;
+  private NavigableSet<WaitlistEntry> waitlist;
+  private Map<Player, WaitlistEntry> waitlistEntries;
+  private long waitlistSequence;
+  private long lineupVersion;
+  private long lineupDetails;
+  private RosterStatistics registryStatistics;
+  private Map<String, Player> playersByRegistration;
+
+  /**
+   * A player waiting for a place in the team. Players with a higher skill level come first,
+   * and among players with the same skill level the one who registered first.
+   */
+  private static final class WaitlistEntry implements Comparable<WaitlistEntry> {
+    private final Player player;
+    private final int skillLevel;
+    private final long sequence;
+
+    WaitlistEntry(Player player, long sequence) {
+      this.player = player;
+      this.skillLevel = player.getSkillLevel();
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(WaitlistEntry other) {
+      int result = Integer.compare(other.skillLevel, skillLevel);
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+  }
 
   /**
    * Creates a soccer team model with an empty list of players and a team.
    */
   public SoccerTeamModelImpl() {
     this.team = new Team();
-    this.players = new ArrayList<>();
+    this.players = new LinkedHashMap<>();
+    this.playersByBirthdate = new TreeSet<>(Comparator.comparingInt(Player::getBirthEpochDay)
+        .thenComparing(Player::compareId));
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.waitlist = new TreeSet<>();
+    this.waitlistEntries = new IdentityHashMap<>();
+    this.lineupVersion = -1;
+    this.registryStatistics = new RosterStatistics();
+    this.playersByRegistration = new HashMap<>();
   }
 
   /**
    * Adds a player to the soccer team model.
+   * If the team was already generated, the player is put on the waitlist and joins the team
+   * right away if the team has a free place.
+   * A player with the same last name, first name and birthdate as a registered player is
+   * rejected; names are compared ignoring case, accents and extra spaces.
    *
    * @param lastName          the last name of the player
    * @param firstName         the first name of the player
    * @param birthdate         the birthdate of the player
    * @param preferredPosition the preferred position of the player
    * @param skillLevel        the skill level of the player
-   * @throws IllegalArgumentException if the player details are invalid
+   * @throws IllegalArgumentException if the player details are invalid or the player is
+   *                                  already registered
    */
   @Override
   public void addPlayer(String lastName, String firstName, LocalDate birthdate,
@@ -52,12 +114,40 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
     if (skillLevel < 1 || skillLevel > 5) {
       throw new IllegalArgumentException("Skill level must be between 1 and 5.");
     }
-    Player player = new Player(lastName, firstName, birthdate, preferredPosition, skillLevel);
-    this.getPlayers().add(player);
+    addPlayer(new Player(lastName, firstName, birthdate, preferredPosition, skillLevel));
+  }
+
+  /**
+   * Adds a player that was created and validated before, for example by a replication
+   * primary. If the team was already generated, the player is put on the waitlist and joins
+   * the team right away if the team has a free place.
+   *
+   * @param player the player to add
+   * @throws IllegalArgumentException if a player with the same details is already registered
+   */
+  void addPlayer(Player player) throws IllegalArgumentException {
+    // reject a second registration of the same child
+    Player registered = this.playersByRegistration.putIfAbsent(registrationKey(player), player);
+    if (registered != null) {
+      throw new IllegalArgumentException("Player " + player.getFirstName() + " "
+          + player.getLastName() + " is already registered with ID " + registered.getId());
+    }
+    this.players.put(player.getUuid(), player);
+    this.playersList = null;
+    this.playersByBirthdate.add(player);
+    player.setRegistry(this);
+    this.registryStatistics.add(player);
+    firePlayerAdded(player);
+    if (this.getTeam().size() > 0) {
+      addToWaitlist(player);
+      fillTeamFromWaitlist(null);
+    }
   }
 
   /**
    * Removes a player from the soccer team model.
+   * If the player was in the team, the best player on the waitlist takes the place and the
+   * jersey number of the removed player, who no longer wears it.
    *
    * @param id the ID of the player to remove
    * @throws IllegalArgumentException if the ID is null or empty
@@ -71,51 +161,218 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
     }
 
     // remove player from players list
-    boolean removedFromPlayers = this.getPlayers().removeIf(player -> player.getId().equals(id));
-    // remove player from team
-    boolean removedFromTeamPlayers = false;
-    if (this.getTeam().getPlayers() != null) {
-      removedFromTeamPlayers =
-          this.getTeam().getPlayers().removeIf(player -> player.getId().equals(id));
-    }
-    // remove player from starting lineup
-    boolean removedFromStartingLineup = false;
-    if (this.getTeam().getStartingLineup() != null) {
-      removedFromStartingLineup =
-          this.getTeam().getStartingLineup().removeIf(player -> player.getId().equals(id));
+    UUID uuid = parseId(id);
+    Player removedPlayer = uuid == null ? null : this.players.remove(uuid);
+    boolean removedFromPlayers = removedPlayer != null;
+    Integer freedJerseyNumber = null;
+    if (removedPlayer != null) {
+      this.playersList = null;
+      this.playersByBirthdate.remove(removedPlayer);
+      this.registryStatistics.remove(removedPlayer);
+      unregister(removedPlayer);
+      removeFromWaitlist(removedPlayer);
+      freedJerseyNumber = removedPlayer.getJerseyNumber();
     }
+    // remove player from team and starting lineup
+    boolean removedFromTeam = uuid != null && this.getTeam().removePlayerById(uuid);
 
     // throw exception if player not found
-    if (!removedFromPlayers && !removedFromTeamPlayers && !removedFromStartingLineup) {
+    if (!removedFromPlayers && !removedFromTeam) {
       throw new NullPointerException("Player with ID " + id + " not found.");
     }
+    if (removedPlayer != null) {
+      releaseJerseyNumber(removedPlayer);
+      firePlayerRemoved(removedPlayer);
+    }
+    if (removedFromTeam) {
+      fillTeamFromWaitlist(freedJerseyNumber);
+    }
   }
 
   /**
-   * Returns the list of players in the soccer team model.
+   * Removes several players from the soccer team model at once. Every player is looked up by
+   * ID, so the time taken depends on the number of IDs, not on the number of registered
+   * players. The jersey numbers of the removed players are released and the free places in
+   * the team are filled from the waitlist.
+   *
+   * @param ids the IDs of the players to remove
+   * @return the IDs that were not found, in the order they were given
+   * @throws IllegalArgumentException if the IDs are null
+   */
+  @Override
+  public List<String> removePlayers(Collection<String> ids) throws IllegalArgumentException {
+    if (ids == null) {
+      throw new IllegalArgumentException("IDs cannot be null");
+    }
+
+    SoccerTeamEvents.BulkRemoval event = new SoccerTeamEvents.BulkRemoval();
+    event.begin();
+
+    // find the players in the players list, then in the team for players only there
+    Set<UUID> found = new HashSet<>();
+    List<Player> removed = new ArrayList<>();
+    List<Player> teamOnly = new ArrayList<>();
+    for (String id : ids) {
+      UUID uuid = id == null ? null : parseId(id);
+      if (uuid == null || !found.add(uuid)) {
+        continue;
+      }
+      Player player = this.players.get(uuid);
+      if (player != null) {
+        removed.add(player);
+        this.playersByBirthdate.remove(player);
+      } else {
+        player = this.getTeam().getPlayer(uuid);
+        if (player != null) {
+          teamOnly.add(player);
+        } else {
+          found.remove(uuid);
+        }
+      }
+    }
+    if (!removed.isEmpty() || !teamOnly.isEmpty()) {
+      removeAll(removed, teamOnly);
+    }
+
+    List<String> notFound = new ArrayList<>();
+    for (String id : ids) {
+      UUID uuid = id == null ? null : parseId(id);
+      if (uuid == null || !found.contains(uuid)) {
+        notFound.add(id);
+      }
+    }
+    event.finish(this.players.size(), removed.size() + teamOnly.size(),
+        this.getTeam().size());
+    return notFound;
+  }
+
+  /**
+   * Removes every player who is no longer eligible on the given season start date, that is
+   * every player who is {@value #AGE_LIMIT} years or older on that day.
+   * Only the players who aged out are visited: they are found at the head of the birthdate
+   * index and removed from the players list, the waitlist, the team and the starting lineup
+   * by ID, and their jersey numbers are released.
+   *
+   * @param seasonStart the first day of the new season
+   * @return the removed players ordered by birthdate, so that they can be archived
+   * @throws IllegalArgumentException if the season start date is null
+   */
+  public List<Player> rolloverSeason(LocalDate seasonStart) throws IllegalArgumentException {
+    if (seasonStart == null) {
+      throw new IllegalArgumentException("Season start date cannot be null");
+    }
+
+    SoccerTeamEvents.BulkRemoval event = new SoccerTeamEvents.BulkRemoval();
+    event.begin();
+
+    // players are ordered by birthdate, so the ineligible players are at the head of the set
+    long cutoff = seasonStart.minusYears(AGE_LIMIT).toEpochDay();
+    List<Player> agedOut = new ArrayList<>();
+    Iterator<Player> iterator = this.playersByBirthdate.iterator();
+    while (iterator.hasNext()) {
+      Player player = iterator.next();
+      if (player.getBirthEpochDay() > cutoff) {
+        break;
+      }
+      iterator.remove();
+      agedOut.add(player);
+    }
+    if (agedOut.isEmpty()) {
+      return agedOut;
+    }
+
+    // remove the players from the players list, the team and the starting lineup
+    removeAll(agedOut, Collections.emptyList());
+    event.finish(this.players.size(), agedOut.size(), this.getTeam().size());
+    return agedOut;
+  }
+
+  /**
+   * Returns the list of players in the soccer team model, in the order they registered.
+   * The list cannot be changed; it is built once after every change of the players.
    *
    * @return the list of players in the soccer team model
    */
   @Override
   public List<Player> getPlayers() {
-    return players;
+    if (playersList == null) {
+      playersList = Collections.unmodifiableList(new ArrayList<>(players.values()));
+    }
+    return playersList;
+  }
+
+  /**
+   * Returns the running statistics of all registered players. They are kept up to date as
+   * players are added and removed, so reading them does not depend on the number of players.
+   * The statistics of the team are available from {@link Team#getStatistics()}.
+   *
+   * @return the statistics of the registry
+   */
+  public RosterStatistics getRegistryStatistics() {
+    return registryStatistics;
+  }
+
+  /**
+   * Finds the players who share a last name, first name and birthdate, comparing names
+   * ignoring case, accents and extra spaces. Every player is looked up once in a hash map,
+   * so the scan takes time proportional to the number of players rather than the number of
+   * pairs.
+   *
+   * @param players the players to scan, such as a registry kept outside the model; a model
+   *                rejects such players, whether they are added or renamed
+   * @return the groups of two or more players with the same details, each in the order of the
+   *         given players, ordered by their first player
+   * @throws IllegalArgumentException if the players are null
+   */
+  public static List<List<Player>> findDuplicates(Collection<Player> players)
+      throws IllegalArgumentException {
+    if (players == null) {
+      throw new IllegalArgumentException("Players cannot be null");
+    }
+    Map<String, List<Player>> groups = new LinkedHashMap<>();
+    for (Player player : players) {
+      groups.computeIfAbsent(registrationKey(player), key -> new ArrayList<>(2)).add(player);
+    }
+    List<List<Player>> duplicates = new ArrayList<>();
+    for (List<Player> group : groups.values()) {
+      if (group.size() > 1) {
+        duplicates.add(group);
+      }
+    }
+    return duplicates;
+  }
+
+  /**
+   * Returns the players waiting for a place in the team, best first.
+   * The waitlist holds the players who did not make the team when it was generated and the
+   * players who registered afterwards.
+   *
+   * @return the waitlisted players
+   */
+  public List<Player> getWaitlist() {
+    List<Player> waitlistedPlayers = new ArrayList<>(this.waitlist.size());
+    for (WaitlistEntry entry : this.waitlist) {
+      waitlistedPlayers.add(entry.player);
+    }
+    return waitlistedPlayers;
   }
 
   /**
    * Generates a team for the soccer team model with assigned jersey number.
+   * The players who do not make the team are put on the waitlist.
    *
    * @throws IllegalStateException if size of players is less than the 10.
    */
   @Override
   public void generateTeam() throws IllegalStateException {
+    SoccerTeamEvents.TeamGeneration event = new SoccerTeamEvents.TeamGeneration();
+    event.begin();
+
     // clear the team players if old team exists
-    if (!this.getTeam().getPlayers().isEmpty()) {
-      this.getTeam().getPlayers().clear();
-      this.getTeam().getStartingLineup().clear();
-    }
+    clearTeam();
 
     // get the total players
-    List<Player> players = this.getPlayers();
+    List<Player> players = new ArrayList<>(this.players.values());
 
     // check minimum player requirement
     if (players.size() < TEAM_LOWER_LIMIT) {
@@ -123,10 +380,15 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
     } else {
       // sort players by skill level
       players.sort(Comparator.comparingInt(Player::getSkillLevel).reversed());
-      // remove jersey number if players exceed the team upper limit
+      // remove jersey number and put on the waitlist if players exceed the team upper limit
       if (players.size() > TEAM_UPPER_LIMIT) {
         for (int i = TEAM_UPPER_LIMIT; i < players.size(); i++) {
-          players.get(i).setJerseyNumber(null);
+          Player player = players.get(i);
+          if (player.getJerseyNumber() != null) {
+            player.clearJerseyNumber();
+            fireJerseyAssigned(player);
+          }
+          addToWaitlist(player);
         }
       }
 
@@ -142,13 +404,15 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
       }
 
       // generate available jersey number
+      SoccerTeamEvents.JerseyAssignment jerseyEvent = new SoccerTeamEvents.JerseyAssignment();
+      jerseyEvent.begin();
       List<Integer> jerseyNumbers = new ArrayList<>();
       for (int i = 0; i < Math.min(TEAM_UPPER_LIMIT, players.size()); i++) {
         jerseyNumbers.add(i + 1);
       }
 
       // remove already assigned jersey numbers
-      for (Player player : this.getPlayers()) {
+      for (Player player : players) {
         if (player.getJerseyNumber() != null) {
           jerseyNumbers.remove(player.getJerseyNumber());
         }
@@ -157,19 +421,58 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
       // assign jersey number to players who don't have jersey number
       for (int i = 0; i < needJerseyNumberPlayers.size(); i++) {
         needJerseyNumberPlayers.get(i).setJerseyNumber(jerseyNumbers.get(i));
+        fireJerseyAssigned(needJerseyNumberPlayers.get(i));
       }
+      int teamSize = this.getTeam().size();
+      jerseyEvent.finish(players.size(), needJerseyNumberPlayers.size(), teamSize);
+      event.finish(players.size(), teamSize, teamSize);
     }
   }
 
+  /**
+   * Clears the team, its starting lineup and the waitlist, as a team generation does before
+   * it picks the players. A failed generation leaves the team cleared, so a replication
+   * standby clears its team as well.
+   */
+  void clearTeam() {
+    if (this.getTeam().size() > 0) {
+      this.getTeam().clear();
+    }
+    this.waitlist.clear();
+    this.waitlistEntries.clear();
+  }
+
+  /**
+   * Tells whether a player with the given ID is registered or in the team.
+   *
+   * @param id the ID of the player
+   * @return true if the player is registered or in the team
+   */
+  boolean hasPlayer(UUID id) {
+    return this.players.containsKey(id) || this.getTeam().getPlayer(id) != null;
+  }
+
   /**
    * Generates a starting lineup for the team with assigned position.
+   * The lineup is kept for the version of the team it was generated for, so it is only
+   * generated again after the team changed or the preferred position or skill level of one
+   * of the players it is picked from changed.
    */
   @Override
   public void generateStartingLineup() {
     // check if team is generated
-    if (this.getTeam().getPlayers().isEmpty()) {
+    if (this.getTeam().size() == 0) {
       generateTeam();
     }
+
+    // keep the lineup if neither the team nor its candidates changed since it was generated
+    long details = lineupDetails();
+    if (this.lineupVersion == this.getTeam().getVersion() && this.lineupDetails == details) {
+      return;
+    }
+
+    SoccerTeamEvents.LineupGeneration event = new SoccerTeamEvents.LineupGeneration();
+    event.begin();
     List<Player> players = this.getTeam().getPlayers();
 
     // get the first 7 availablePlayers in the team
@@ -203,6 +506,28 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
       }
     }
     this.getTeam().setStartingLineup(startingLineup);
+    this.lineupVersion = this.getTeam().getVersion();
+    this.lineupDetails = details;
+    fireLineupGenerated(startingLineup);
+    event.finish(this.getPlayers().size(), startingLineup.size(), players.size());
+  }
+
+  /**
+   * Returns the preferred positions and skill levels of the players the starting lineup is
+   * picked from, packed into one number. The version of the team does not follow changes to
+   * the details of its players, so the lineup cache compares these as well.
+   *
+   * @return the packed details of the lineup candidates
+   */
+  private long lineupDetails() {
+    List<Player> players = this.getTeam().getPlayers();
+    long details = 0;
+    for (int i = 0; i < Math.min(LINEUP_LIMIT, players.size()); i++) {
+      Player player = players.get(i);
+      details = (details << 5) | (player.getPreferredPosition().ordinal() << 3)
+          | player.getSkillLevel();
+    }
+    return details;
   }
 
   /**
@@ -238,12 +563,273 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
           player.getPreferredPosition().equals(position) || forceAssign)) {
         player.setAssignedPosition(position);
         startingLineup.add(player);
+        firePositionAssigned(player);
         iterator.remove();
         availablePositions.put(position, availablePositions.get(position) - 1);
       }
     }
   }
 
+  /**
+   * Removes players from the players list, the waitlist, the team and the starting lineup,
+   * releases their jersey numbers and fills the free places in the team from the waitlist.
+   * Every player is removed by ID, so the time taken depends only on the number of removed
+   * players. The caller has already removed the players from the birthdate index.
+   *
+   * @param removed  the removed players of the players list, in the order to report them
+   * @param teamOnly the removed players who were only in the team
+   */
+  private void removeAll(List<Player> removed, List<Player> teamOnly) {
+    for (Player player : removed) {
+      this.players.remove(player.getUuid());
+      this.registryStatistics.remove(player);
+      unregister(player);
+      removeFromWaitlist(player);
+      this.getTeam().removePlayerById(player.getUuid());
+    }
+    for (Player player : teamOnly) {
+      this.getTeam().removePlayerById(player.getUuid());
+    }
+    this.playersList = null;
+    for (Player player : removed) {
+      releaseJerseyNumber(player);
+      firePlayerRemoved(player);
+    }
+    fillTeamFromWaitlist(null);
+  }
+
+  /**
+   * Takes the jersey number away from a removed player, if the player had one, and tells the
+   * listeners.
+   *
+   * @param player the removed player
+   */
+  private void releaseJerseyNumber(Player player) {
+    if (player.getJerseyNumber() != null) {
+      player.clearJerseyNumber();
+      fireJerseyAssigned(player);
+    }
+  }
+
+  /**
+   * Puts a player on the waitlist.
+   *
+   * @param player the player
+   */
+  private void addToWaitlist(Player player) {
+    WaitlistEntry entry = new WaitlistEntry(player, waitlistSequence++);
+    this.waitlist.add(entry);
+    this.waitlistEntries.put(player, entry);
+  }
+
+  /**
+   * Takes a player off the waitlist, if the player is on it.
+   *
+   * @param player the player
+   */
+  private void removeFromWaitlist(Player player) {
+    WaitlistEntry entry = this.waitlistEntries.remove(player);
+    if (entry != null) {
+      this.waitlist.remove(entry);
+    }
+  }
+
+  /**
+   * Moves the best waitlisted players into the team until the team is full or the waitlist is
+   * empty, and gives each of them a jersey number.
+   *
+   * @param freedJerseyNumber the jersey number to give to the first promoted player, or null
+   *                          to give the lowest free number
+   */
+  private void fillTeamFromWaitlist(Integer freedJerseyNumber) {
+    if (this.getTeam().size() >= TEAM_UPPER_LIMIT || this.waitlist.isEmpty()) {
+      return;
+    }
+    SoccerTeamEvents.JerseyAssignment event = new SoccerTeamEvents.JerseyAssignment();
+    event.begin();
+    Integer jerseyNumber = freedJerseyNumber;
+    int promoted = 0;
+    while (this.getTeam().size() < TEAM_UPPER_LIMIT && !this.waitlist.isEmpty()) {
+      Player player = this.waitlist.pollFirst().player;
+      this.waitlistEntries.remove(player);
+      this.getTeam().addPlayer(player);
+      player.setJerseyNumber(jerseyNumber != null ? jerseyNumber : lowestFreeJerseyNumber());
+      fireJerseyAssigned(player);
+      jerseyNumber = null;
+      promoted++;
+    }
+    event.finish(this.players.size(), promoted, this.getTeam().size());
+  }
+
+  /**
+   * Returns the lowest jersey number that no player in the team wears.
+   *
+   * @return the lowest free jersey number
+   */
+  private int lowestFreeJerseyNumber() {
+    boolean[] taken = new boolean[TEAM_UPPER_LIMIT + 1];
+    for (Player player : this.getTeam().getPlayers()) {
+      Integer jerseyNumber = player.getJerseyNumber();
+      if (jerseyNumber != null && jerseyNumber <= TEAM_UPPER_LIMIT) {
+        taken[jerseyNumber] = true;
+      }
+    }
+    int jerseyNumber = 1;
+    while (taken[jerseyNumber]) {
+      jerseyNumber++;
+    }
+    return jerseyNumber;
+  }
+
+  /**
+   * Removes a player from the registration index and marks the player as no longer
+   * registered.
+   *
+   * @param player the removed player
+   */
+  private void unregister(Player player) {
+    player.setRegistry(null);
+    this.playersByRegistration.remove(registrationKey(player), player);
+  }
+
+  /**
+   * Registers a player under a new name, before the player takes the name, so that the
+   * registration index follows renames.
+   *
+   * @param player    the registered player
+   * @param lastName  the new last name
+   * @param firstName the new first name
+   * @throws IllegalArgumentException if another registered player has the new name and the
+   *                                  same birthdate
+   */
+  void rename(Player player, String lastName, String firstName)
+      throws IllegalArgumentException {
+    String key = registrationKey(lastName, firstName, player.getBirthEpochDay());
+    Player registered = this.playersByRegistration.putIfAbsent(key, player);
+    if (registered != null && registered != player) {
+      throw new IllegalArgumentException("Player " + firstName + " " + lastName
+          + " is already registered with ID " + registered.getId());
+    }
+    String oldKey = registrationKey(player);
+    if (!oldKey.equals(key)) {
+      this.playersByRegistration.remove(oldKey, player);
+    }
+  }
+
+  /**
+   * Returns the key under which a player is registered: the normalized last name, first name
+   * and birthdate.
+   *
+   * @param player the player
+   * @return the registration key
+   */
+  private static String registrationKey(Player player) {
+    return registrationKey(player.getLastName(), player.getFirstName(),
+        player.getBirthEpochDay());
+  }
+
+  /**
+   * Returns the registration key of the given details.
+   *
+   * @param lastName      the last name
+   * @param firstName     the first name
+   * @param birthEpochDay the birthdate as an epoch day
+   * @return the registration key
+   */
+  private static String registrationKey(String lastName, String firstName, int birthEpochDay) {
+    return normalizeName(lastName) + '\0' + normalizeName(firstName) + '\0' + birthEpochDay;
+  }
+
+  /**
+   * Normalizes a name for comparison: accents are removed, runs of spaces become one space,
+   * and letters become lower case.
+   *
+   * @param name the name
+   * @return the normalized name
+   */
+  private static String normalizeName(String name) {
+    String plain = Normalizer.normalize(name, Normalizer.Form.NFD);
+    plain = ACCENTS.matcher(plain).replaceAll("");
+    return SPACES.matcher(plain.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Parses a player ID.
+   *
+   * @param id the ID of a player
+   * @return the parsed ID, or null if the ID is not a valid player ID
+   */
+  private static UUID parseId(String id) {
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Tells every listener about a change. A listener that throws does not stop the others from
+   * being told, and never interrupts a change to the model half way; its exception is passed
+   * to the uncaught exception handler of the current thread.
+   *
+   * @param notification the call to make on each listener
+   */
+  private void notifyListeners(Consumer<SoccerTeamModelListener> notification) {
+    for (SoccerTeamModelListener listener : listeners) {
+      try {
+        notification.accept(listener);
+      } catch (RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+  }
+
+  /**
+   * Tells the listeners that a player was added.
+   *
+   * @param player the added player
+   */
+  private void firePlayerAdded(Player player) {
+    notifyListeners(listener -> listener.playerAdded(player));
+  }
+
+  /**
+   * Tells the listeners that a player was removed.
+   *
+   * @param player the removed player
+   */
+  private void firePlayerRemoved(Player player) {
+    notifyListeners(listener -> listener.playerRemoved(player));
+  }
+
+  /**
+   * Tells the listeners that a player was assigned a position in the starting lineup.
+   *
+   * @param player the player
+   */
+  private void firePositionAssigned(Player player) {
+    notifyListeners(listener -> listener.positionAssigned(player));
+  }
+
+  /**
+   * Tells the listeners that a new starting lineup was generated.
+   *
+   * @param startingLineup the players of the new starting lineup
+   */
+  private void fireLineupGenerated(List<Player> startingLineup) {
+    notifyListeners(listener -> listener.lineupGenerated(startingLineup));
+  }
+
+  /**
+   * Tells the listeners that the jersey number of a player was assigned or released.
+   *
+   * @param player the player
+   */
+  private void fireJerseyAssigned(Player player) {
+    notifyListeners(listener -> listener.jerseyAssigned(player));
+  }
+
   /**
    * Gets the soccer team.
    *
@@ -253,4 +839,28 @@ public class SoccerTeamModelImpl implements SoccerTeamModel {
   public Team getTeam() {
     return team;
   }
+
+  /**
+   * Adds a listener that is told about every change to the model.
+   *
+   * @param listener the listener to add
+   * @throws IllegalArgumentException if the listener is null
+   */
+  @Override
+  public void addModelListener(SoccerTeamModelListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener that was added with {@link #addModelListener}.
+   *
+   * @param listener the listener to remove
+   */
+  @Override
+  public void removeModelListener(SoccerTeamModelListener listener) {
+    listeners.remove(listener);
+  }
 }
@@ -0,0 +1,51 @@
+import java.util.List;
+
+/**
+ * SoccerTeamModelListener is an interface for objects that want to be told about changes
+ * to a SoccerTeamModel, so that they can apply each change instead of rereading the
+ * whole model. The methods are called on the thread that changed the model, after the change
+ * was made. All methods do nothing by default.
+ */
+public interface SoccerTeamModelListener {
+
+  /**
+   * Called after a player was added to the model.
+   *
+   * @param player the added player
+   */
+  public default void playerAdded(Player player) {
+  }
+
+  /**
+   * Called after a player was removed from the model, the team and the starting lineup.
+   *
+   * @param player the removed player
+   */
+  public default void playerRemoved(Player player) {
+  }
+
+  /**
+   * Called after a jersey number was assigned to or released from a player.
+   *
+   * @param player the player, whose jersey number is null if it was released
+   */
+  public default void jerseyAssigned(Player player) {
+  }
+
+  /**
+   * Called after a player was assigned a position in the starting lineup.
+   *
+   * @param player the player with the assigned position
+   */
+  public default void positionAssigned(Player player) {
+  }
+
+  /**
+   * Called after a new starting lineup was generated, after the positions of its players were
+   * assigned.
+   *
+   * @param startingLineup the players of the new starting lineup
+   */
+  public default void lineupGenerated(List<Player> startingLineup) {
+  }
+}
@@ -1,9 +1,6 @@
 
 import java.awt.BorderLayout;
 import java.awt.event.ActionListener;
-import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
-import java.util.List;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
@@ -17,9 +14,15 @@ import javax.swing.table.DefaultTableModel;
  * The view class for the Soccer Team Management application.
  */
 public class SoccerTeamView {
+  private static final int RENDERED_VIEW_CAPACITY = 16;
   private JFrame frame;
   private JTable table;
   private DefaultTableModel tableModel;
+  private DefaultTableModel teamTableModel;
+  private JScrollPane teamScrollPane;
+  private DefaultTableModel lineupTableModel;
+  private JScrollPane lineupScrollPane;
+  private RenderedViewCache renderedViews;
   private JButton addButton;
   private JButton deleteButton;
   private JButton generateTeamButton;
@@ -40,6 +43,16 @@ public class SoccerTeamView {
         0);
     table = new JTable(tableModel);
 
+    // Create the team and starting lineup tables, refilled every time they are shown
+    teamTableModel = new DefaultTableModel(
+        new Object[] {"First Name", "Last Name", "Birthdate", "Preferred Position",
+            "Skill Level", "Jersey Number"}, 0);
+    teamScrollPane = new JScrollPane(new JTable(teamTableModel));
+    lineupTableModel = new DefaultTableModel(
+        new Object[] {"First Name", "Last Name", "Birthdate", "Assigned Position",
+            "Skill Level", "Jersey Number"}, 0);
+    lineupScrollPane = new JScrollPane(new JTable(lineupTableModel));
+    renderedViews = new RenderedViewCache(RENDERED_VIEW_CAPACITY);
 
     // Create the buttons
     addButton = new JButton("Add Player");
@@ -139,55 +152,32 @@ public class SoccerTeamView {
   }
 
   /**
-   * Shows the team in a dialog.
+   * Shows the players of a team in a dialog. The rows are rendered once for every version of
+   * the team, so showing an unchanged team again does not format its players again.
    *
    * @param team the team to show
    */
-  public void showTeam(List<Player> team) {
-    String[] columnNames =
-          {"First Name", "Last Name", "Birthdate", "Preferred Position",
-              "Skill Level", "Jersey Number"};
-    DefaultTableModel model = new DefaultTableModel(columnNames, 0);
-    team.sort(Comparator.comparing(Player::getLastName));  // Sort by last name
-    for (Player player : team) {
-      model.addRow(new Object[] {
-          player.getFirstName(),
-          player.getLastName(),
-          player.getBirthdate().format(DateTimeFormatter.ISO_DATE),
-          player.getPreferredPosition(),
-          player.getSkillLevel(),
-          player.getJerseyNumber()
-      });
+  public void showTeam(Team team) {
+    teamTableModel.setRowCount(0);
+    for (Object[] row : renderedViews.getTeamRows(team)) {
+      teamTableModel.addRow(row);
     }
-    JTable table = new JTable(model);
-    JOptionPane.showMessageDialog(frame, new JScrollPane(table), "Team",
+    JOptionPane.showMessageDialog(frame, teamScrollPane, "Team",
         JOptionPane.INFORMATION_MESSAGE);
   }
 
   /**
-   * Shows the starting lineup in a dialog.
+   * Shows the starting lineup of a team in a dialog. The rows are rendered once for every
+   * version of the team, so showing an unchanged lineup again does not format it again.
    *
-   * @param lineup the starting lineup to show
+   * @param team the team whose starting lineup to show
    */
-  public void showStartingLineup(List<Player> lineup) {
-    String[] columnNames =
-          {"First Name", "Last Name", "Birthdate", "Assigned Position",
-              "Skill Level", "Jersey Number"};
-    DefaultTableModel model = new DefaultTableModel(columnNames, 0);
-    lineup.sort(
-        Comparator.comparing(Player::getAssignedPosition).thenComparing(Player::getLastName));
-    for (Player player : lineup) {
-      model.addRow(new Object[] {
-          player.getFirstName(),
-          player.getLastName(),
-          player.getBirthdate().format(DateTimeFormatter.ISO_DATE),
-          player.getAssignedPosition().toString(),
-          player.getSkillLevel(),
-          player.getJerseyNumber()
-      });
+  public void showStartingLineup(Team team) {
+    lineupTableModel.setRowCount(0);
+    for (Object[] row : renderedViews.getLineupRows(team)) {
+      lineupTableModel.addRow(row);
     }
-    JTable table = new JTable(model);
-    JOptionPane.showMessageDialog(frame, new JScrollPane(table), "Starting Lineup",
+    JOptionPane.showMessageDialog(frame, lineupScrollPane, "Starting Lineup",
         JOptionPane.INFORMATION_MESSAGE);
   }
 
@@ -0,0 +1,38 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * This class is a replication transport that writes every batch to a stream, such as the
+ * output stream of a local socket or a pipe. Each batch is written as its length followed by
+ * its bytes, the format that {@link ReplicationStandby#readFrom} reads.
+ */
+public class StreamReplicationTransport implements ReplicationTransport {
+  private final DataOutputStream out;
+
+  /**
+   * Creates a transport that writes batches to the given stream.
+   *
+   * @param out the stream
+   * @throws IllegalArgumentException if the stream is null
+   */
+  public StreamReplicationTransport(OutputStream out) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Stream cannot be null");
+    }
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+  }
+
+  @Override
+  public void send(byte[] batch) throws IOException {
+    out.writeInt(batch.length);
+    out.write(batch);
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
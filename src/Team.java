@@ -1,30 +1,69 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * This class represents a team in a soccer league.
  * A team has a list of players.
+ * The players and the starting lineup are kept by player ID in the order they were added, so
+ * adding, removing and finding a player does not depend on the size of the team, and a player
+ * cannot be in the team or the starting lineup twice.
+ * Every change made through the methods of the team increases its version, so that results
+ * computed from the team can be cached until the team changes.
  */
 public class Team {
-  private List<Player> players;
-  private List<Player> startingLineup;
+  private final Map<UUID, Player> players;
+  private final Map<UUID, Player> startingLineup;
+  private List<Player> playersList;
+  private List<Player> startingLineupList;
+  private long version;
+  private final RosterStatistics statistics;
 
   /**
    * Creates a team with an empty list of players.
    */
   public Team() {
-    this.players = new ArrayList<>();
-    this.startingLineup = new ArrayList<>();
+    this.players = new LinkedHashMap<>();
+    this.startingLineup = new LinkedHashMap<>();
+    this.statistics = new RosterStatistics();
   }
 
   /**
-   * Returns the list of players in the team.
+   * Returns the list of players in the team, in the order they were added.
+   * The list cannot be changed; it is built once after every change of the team.
    *
    * @return the list of players in the team
    */
   public List<Player> getPlayers() {
-    return players;
+    if (playersList == null) {
+      playersList = Collections.unmodifiableList(new ArrayList<>(players.values()));
+    }
+    return playersList;
+  }
+
+  /**
+   * Returns the number of players in the team.
+   *
+   * @return the number of players in the team
+   */
+  public int size() {
+    return players.size();
+  }
+
+  /**
+   * Returns whether a player is in the team.
+   *
+   * @param player the player
+   * @return true if a player with the same ID is in the team
+   */
+  public boolean contains(Player player) {
+    return player != null && players.containsKey(player.getUuid());
   }
 
   /**
@@ -33,7 +72,7 @@ public class Team {
    * @return the list of players sorted by last name
    */
   public List<Player> getPlayersSortedByLastName() {
-    List<Player> sortedPlayers = new ArrayList<>(players);
+    List<Player> sortedPlayers = new ArrayList<>(players.values());
     sortedPlayers.sort(Comparator.comparing(Player::getLastName));
     return sortedPlayers;
   }
@@ -42,60 +81,204 @@ public class Team {
    * Adds a player to the team.
    *
    * @param player the player to add
+   * @throws IllegalArgumentException if the player is null or already in the team
    */
-  public void addPlayer(Player player) {
+  public void addPlayer(Player player) throws IllegalArgumentException {
     if (player == null) {
       throw new IllegalArgumentException("Player cannot be null");
     }
-    this.players.add(player);
+    if (this.players.putIfAbsent(player.getUuid(), player) != null) {
+      throw new IllegalArgumentException("Player is already in the team");
+    }
+    this.statistics.add(player);
+    changed();
   }
 
   /**
    * Removes a player from the team.
    *
    * @param player the player to remove
+   * @throws IllegalArgumentException if the player is null or not in the team
    */
-  public void removePlayer(Player player) {
+  public void removePlayer(Player player) throws IllegalArgumentException {
     if (player == null) {
       throw new IllegalArgumentException("Player cannot be null");
     }
-    if (!this.players.remove(player)) {
+    Player removed = this.players.remove(player.getUuid());
+    if (removed == null) {
       throw new IllegalArgumentException("Player not found in the team");
     }
+    this.statistics.remove(removed);
+    changed();
+  }
+
+  /**
+   * Returns the team member with the given ID.
+   *
+   * @param id the ID of the player
+   * @return the player, or null if no team member has the ID
+   */
+  Player getPlayer(UUID id) {
+    return this.players.get(id);
+  }
+
+  /**
+   * Removes the player with the given ID from the team and the starting lineup.
+   *
+   * @param id the ID of the player
+   * @return true if the player was removed
+   */
+  boolean removePlayerById(UUID id) {
+    Player removed = this.players.remove(id);
+    if (removed != null) {
+      this.statistics.remove(removed);
+    }
+    boolean removedFromStartingLineup = this.startingLineup.remove(id) != null;
+    if (removedFromStartingLineup) {
+      this.statistics.setLineup(this.startingLineup.values());
+    }
+    if (removed == null && !removedFromStartingLineup) {
+      return false;
+    }
+    changed();
+    return true;
   }
 
   /**
-   * Sets the starting lineup of the team.
+   * Removes every player that matches the filter from the team and the starting lineup.
+   *
+   * @param filter the filter that selects the players to remove
+   * @return true if any player was removed
+   * @throws IllegalArgumentException if the filter is null
+   */
+  public boolean removePlayers(Predicate<? super Player> filter) throws IllegalArgumentException {
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null");
+    }
+    boolean removedFromPlayers = false;
+    Iterator<Player> iterator = this.players.values().iterator();
+    while (iterator.hasNext()) {
+      Player player = iterator.next();
+      if (filter.test(player)) {
+        iterator.remove();
+        this.statistics.remove(player);
+        removedFromPlayers = true;
+      }
+    }
+    boolean removedFromStartingLineup = this.startingLineup.values().removeIf(filter);
+    if (removedFromStartingLineup) {
+      this.statistics.setLineup(this.startingLineup.values());
+    }
+    if (removedFromPlayers || removedFromStartingLineup) {
+      changed();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Removes every player from the team and the starting lineup.
+   */
+  public void clear() {
+    this.players.clear();
+    this.startingLineup.clear();
+    this.statistics.clear();
+    changed();
+  }
+
+  /**
+   * Returns the running statistics of the players and the starting lineup of the team. Like
+   * the version, the statistics follow the changes made through the methods of the team.
+   *
+   * @return the statistics of the team
+   */
+  public RosterStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Returns the version of the team. The version increases whenever a player is added or
+   * removed or the starting lineup is set through the methods of the team. Changes made to
+   * the details of a player are not counted.
+   *
+   * @return the version of the team
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Sets the starting lineup of the team. The players are copied, so later changes to the
+   * given list do not change the starting lineup.
    *
    * @param startingLineup the starting lineup of the team
+   * @throws IllegalArgumentException if the starting lineup is null, holds null or holds a
+   *                                  player twice
    */
-  public void setStartingLineup(List<Player> startingLineup) {
+  public void setStartingLineup(List<Player> startingLineup) throws IllegalArgumentException {
     if (startingLineup == null) {
       throw new IllegalArgumentException("Starting lineup cannot be null");
     }
-    this.startingLineup = startingLineup;
+    Map<UUID, Player> lineup = new LinkedHashMap<>();
+    for (Player player : startingLineup) {
+      if (player == null) {
+        throw new IllegalArgumentException("Starting lineup cannot hold null");
+      }
+      if (lineup.putIfAbsent(player.getUuid(), player) != null) {
+        throw new IllegalArgumentException("Player is already in the starting lineup");
+      }
+    }
+    this.startingLineup.clear();
+    this.startingLineup.putAll(lineup);
+    this.statistics.setLineup(this.startingLineup.values());
+    changed();
   }
 
   /**
-   * Returns the starting lineup of the team.
+   * Returns the starting lineup of the team, in the order it was set.
+   * The list cannot be changed; it is built once after every change of the team.
    *
    * @return the starting lineup of the team
    */
   public List<Player> getStartingLineup() {
-    return startingLineup;
+    if (startingLineupList == null) {
+      startingLineupList = Collections.unmodifiableList(new ArrayList<>(startingLineup.values()));
+    }
+    return startingLineupList;
+  }
+
+  /**
+   * Returns whether a player is in the starting lineup.
+   *
+   * @param player the player
+   * @return true if a player with the same ID is in the starting lineup
+   */
+  public boolean isInStartingLineup(Player player) {
+    return player != null && startingLineup.containsKey(player.getUuid());
   }
 
   /**
    * Returns the starting lineup sorted by position (goalie, defender, midfielder, forward)
    * and alphabetically within each position.
    *
-   * @return the sorted list of players in the starting lineup
+   * @return a sorted copy of the players in the starting lineup
    */
   public List<Player> getSortedStartingLineup() {
-    startingLineup.sort(Comparator.comparing((Player p) -> p.getAssignedPosition().ordinal())
+    List<Player> sortedLineup = new ArrayList<>(startingLineup.values());
+    sortedLineup.sort(Comparator.comparing((Player p) -> p.getAssignedPosition().ordinal())
         .thenComparing(Player::getLastName)
         .thenComparing(Player::getFirstName));
-    return startingLineup;
+    return sortedLineup;
+  }
+
+  /**
+   * Records a change of the players or the starting lineup: the version increases and the
+   * lists are built again when they are next asked for.
+   */
+  private void changed() {
+    this.playersList = null;
+    this.startingLineupList = null;
+    this.version++;
   }
 
   /**
@@ -106,7 +289,7 @@ public class Team {
   @Override
   public String toString() {
     return "Team{"
-        + "players: " + players
+        + "players: " + getPlayers()
         + '}';
   }
 }
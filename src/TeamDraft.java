@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * This class drafts a pool of players into several teams with balanced skill and position mix.
+ * The players are first dealt out by position and skill in a snake order. Several local
+ * searches then run in parallel, each swapping players between teams whenever the swap makes
+ * the teams more alike, and the most balanced result is kept.
+ * A draft is deterministic for a given seed.
+ */
+public class TeamDraft {
+  private static final int POSITION_COUNT = Position.values().length;
+  private static final double POSITION_WEIGHT = 5.0;
+  private static final int SWAPS_PER_PLAYER = 200;
+  private final int searches;
+  private final long seed;
+
+  /**
+   * Creates a draft that runs one local search per available processor.
+   *
+   * @param seed the seed of the random swaps
+   */
+  public TeamDraft(long seed) {
+    this(Runtime.getRuntime().availableProcessors(), seed);
+  }
+
+  /**
+   * Creates a draft that runs the given number of local searches.
+   *
+   * @param searches the number of local searches
+   * @param seed     the seed of the random swaps
+   * @throws IllegalArgumentException if the number of searches is not positive
+   */
+  public TeamDraft(int searches, long seed) throws IllegalArgumentException {
+    if (searches < 1) {
+      throw new IllegalArgumentException("Number of searches must be positive");
+    }
+    this.searches = searches;
+    this.seed = seed;
+  }
+
+  /**
+   * Drafts the players into the given number of teams. The team sizes differ by at most one.
+   * The players keep their jersey numbers and positions.
+   *
+   * @param pool      the players to draft
+   * @param teamCount the number of teams
+   * @return the teams
+   * @throws IllegalArgumentException if the pool is null or contains null, or if the number of
+   *                                  teams is not between 1 and the number of players
+   */
+  public List<Team> draft(List<Player> pool, int teamCount) throws IllegalArgumentException {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null or contain null");
+    }
+    // check the copy, since immutable lists such as List.of throw on contains(null)
+    Player[] players = pool.toArray(new Player[0]);
+    for (Player player : players) {
+      if (player == null) {
+        throw new IllegalArgumentException("Pool cannot be null or contain null");
+      }
+    }
+    if (teamCount < 1 || teamCount > players.length) {
+      throw new IllegalArgumentException("Number of teams must be between 1 and pool size");
+    }
+
+    // deal the players out in snake order, grouped by position and strongest first
+    Arrays.sort(players, Comparator.comparing(Player::getPreferredPosition)
+        .thenComparing(Comparator.comparingInt(Player::getSkillLevel).reversed()));
+    int[] dealt = new int[players.length];
+    for (int i = 0; i < players.length; i++) {
+      int round = i / teamCount;
+      int pick = i % teamCount;
+      dealt[i] = round % 2 == 0 ? pick : teamCount - 1 - pick;
+    }
+
+    // improve the deal with independent local searches and keep the best
+    Search best = IntStream.range(0, searches).parallel()
+        .mapToObj(i -> {
+          Search search = new Search(players, dealt, teamCount, seed + i);
+          search.run();
+          return search;
+        })
+        .min(Comparator.comparingDouble(Search::getCost))
+        .orElseThrow();
+
+    List<Team> teams = new ArrayList<>();
+    for (int i = 0; i < teamCount; i++) {
+      teams.add(new Team());
+    }
+    for (int i = 0; i < players.length; i++) {
+      teams.get(best.teamOf[i]).addPlayer(players[i]);
+    }
+    return teams;
+  }
+
+  /**
+   * One local search over the assignment of players to teams.
+   * The cost of an assignment is the squared distance of every team's skill total and
+   * position counts from the average, so a swap changes the cost of two teams only.
+   */
+  private static final class Search {
+    private final Player[] players;
+    private final int[] teamOf;
+    private final int[] skill;
+    private final int[] position;
+    private final double[] skillTotal;
+    private final double[][] positionCount;
+    private final double averageSkill;
+    private final double[] averagePositionCount;
+    private final Random random;
+
+    Search(Player[] players, int[] dealt, int teamCount, long seed) {
+      this.players = players;
+      this.teamOf = dealt.clone();
+      this.skill = new int[players.length];
+      this.position = new int[players.length];
+      this.skillTotal = new double[teamCount];
+      this.positionCount = new double[teamCount][POSITION_COUNT];
+      this.averagePositionCount = new double[POSITION_COUNT];
+      double totalSkill = 0;
+      for (int i = 0; i < players.length; i++) {
+        skill[i] = players[i].getSkillLevel();
+        position[i] = players[i].getPreferredPosition().ordinal();
+        skillTotal[teamOf[i]] += skill[i];
+        positionCount[teamOf[i]][position[i]]++;
+        averagePositionCount[position[i]] += 1.0 / teamCount;
+        totalSkill += skill[i];
+      }
+      this.averageSkill = totalSkill / teamCount;
+      this.random = new Random(seed);
+    }
+
+    /**
+     * Tries random swaps and keeps every swap that lowers the cost.
+     */
+    void run() {
+      long swaps = (long) SWAPS_PER_PLAYER * players.length;
+      for (long s = 0; s < swaps; s++) {
+        int a = random.nextInt(players.length);
+        int b = random.nextInt(players.length);
+        int teamA = teamOf[a];
+        int teamB = teamOf[b];
+        if (teamA == teamB || (skill[a] == skill[b] && position[a] == position[b])) {
+          continue;
+        }
+        double before = teamCost(teamA) + teamCost(teamB);
+        move(a, teamA, teamB);
+        move(b, teamB, teamA);
+        if (teamCost(teamA) + teamCost(teamB) >= before) {
+          move(a, teamB, teamA);
+          move(b, teamA, teamB);
+        }
+      }
+    }
+
+    /**
+     * Returns the cost of the whole assignment.
+     *
+     * @return the cost
+     */
+    double getCost() {
+      double cost = 0;
+      for (int team = 0; team < skillTotal.length; team++) {
+        cost += teamCost(team);
+      }
+      return cost;
+    }
+
+    /**
+     * Returns the cost of one team.
+     *
+     * @param team the team
+     * @return the cost of the team
+     */
+    private double teamCost(int team) {
+      double skillDistance = skillTotal[team] - averageSkill;
+      double cost = skillDistance * skillDistance;
+      for (int p = 0; p < POSITION_COUNT; p++) {
+        double positionDistance = positionCount[team][p] - averagePositionCount[p];
+        cost += POSITION_WEIGHT * positionDistance * positionDistance;
+      }
+      return cost;
+    }
+
+    /**
+     * Moves a player from one team to another.
+     *
+     * @param player the player
+     * @param from   the team the player is in
+     * @param to     the team the player moves to
+     */
+    private void move(int player, int from, int to) {
+      teamOf[player] = to;
+      skillTotal[from] -= skill[player];
+      skillTotal[to] += skill[player];
+      positionCount[from][position[player]]--;
+      positionCount[to][position[player]]++;
+    }
+  }
+}
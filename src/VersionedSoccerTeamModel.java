@@ -0,0 +1,369 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * This class is a soccer team model that keeps earlier versions of its roster, so that
+ * questions such as who wore a jersey number on a match day can be answered later.
+ * Every change is passed on to another model; afterwards the players, the team and the
+ * starting lineup are recorded as a new {@link RosterSnapshot}. The players that changed are
+ * learned from the events of the other model, so recording a version takes time and memory
+ * for the players that changed and for the team, not for the whole roster: players who did
+ * not change share their state with the previous version, and versions share the part of the
+ * roster list that did not change. A change that fails without changing anything does not
+ * make a version. Snapshots never change, so readers query them without locking while
+ * changes go on. Old versions are dropped when there are more than the maximum number of
+ * versions or when they are older than the maximum age; the latest version is always kept.
+ * Changes made directly to players, without an event of the other model, are recorded with
+ * the next version for team members and with the next event about the player for others.
+ */
+public class VersionedSoccerTeamModel implements SoccerTeamModel {
+  private final SoccerTeamModel delegate;
+  private final Clock clock;
+  private final int maxVersions;
+  private final Duration maxAge;
+  private final ConcurrentNavigableMap<Long, RosterSnapshot> versions;
+  private final ConcurrentNavigableMap<Instant, RosterSnapshot> versionsByTime;
+  // the players that changed since the latest version, in the order of their first change;
+  // a removed player maps to null
+  private final Map<UUID, Player> changedPlayers;
+  private final Set<UUID> addedPlayers;
+  // the key of every registered player in the roster list, in the order of registration
+  private final Map<UUID, Long> rosterKeys;
+  private PlayerStateList roster;
+  private Map<UUID, RosterSnapshot.PlayerState> teamStates;
+  private Team lastTeam;
+  private long lastTeamVersion;
+  private long nextRosterKey;
+  private long nextVersion;
+
+  /**
+   * Creates a model that keeps the versions of another model.
+   *
+   * @param delegate    the model to pass the changes on to
+   * @param maxVersions the maximum number of versions to keep
+   * @param maxAge      the maximum age of the versions to keep
+   * @param clock       the clock that dates the versions
+   * @throws IllegalArgumentException if an argument is null, the maximum number of versions is
+   *                                  not positive or the maximum age is negative
+   */
+  public VersionedSoccerTeamModel(SoccerTeamModel delegate, int maxVersions, Duration maxAge,
+                                  Clock clock) throws IllegalArgumentException {
+    if (delegate == null || maxAge == null || clock == null) {
+      throw new IllegalArgumentException("Model, maximum age and clock cannot be null");
+    }
+    if (maxVersions < 1 || maxAge.isNegative()) {
+      throw new IllegalArgumentException(
+          "Maximum number of versions must be positive and maximum age not negative");
+    }
+    this.delegate = delegate;
+    this.clock = clock;
+    this.maxVersions = maxVersions;
+    this.maxAge = maxAge;
+    this.versions = new ConcurrentSkipListMap<>();
+    this.versionsByTime = new ConcurrentSkipListMap<>();
+    this.changedPlayers = new LinkedHashMap<>();
+    this.addedPlayers = new HashSet<>();
+    this.rosterKeys = new HashMap<>();
+    this.roster = PlayerStateList.EMPTY;
+    this.teamStates = new HashMap<>();
+    this.nextRosterKey = 0;
+    this.nextVersion = 1;
+
+    // the players registered so far make the first version, later ones come from events
+    for (Player player : delegate.getPlayers()) {
+      playerAdded(player);
+    }
+    delegate.addModelListener(new SoccerTeamModelListener() {
+      @Override
+      public void playerAdded(Player player) {
+        VersionedSoccerTeamModel.this.playerAdded(player);
+      }
+
+      @Override
+      public void playerRemoved(Player player) {
+        VersionedSoccerTeamModel.this.playerRemoved(player);
+      }
+
+      @Override
+      public void jerseyAssigned(Player player) {
+        playerChanged(player);
+      }
+
+      @Override
+      public void positionAssigned(Player player) {
+        playerChanged(player);
+      }
+    });
+    recordVersion();
+  }
+
+  /**
+   * Creates a model that keeps the versions of another model, dated with the system clock.
+   *
+   * @param delegate    the model to pass the changes on to
+   * @param maxVersions the maximum number of versions to keep
+   * @param maxAge      the maximum age of the versions to keep
+   * @throws IllegalArgumentException if an argument is null, the maximum number of versions is
+   *                                  not positive or the maximum age is negative
+   */
+  public VersionedSoccerTeamModel(SoccerTeamModel delegate, int maxVersions, Duration maxAge)
+      throws IllegalArgumentException {
+    this(delegate, maxVersions, maxAge, Clock.systemUTC());
+  }
+
+  @Override
+  public synchronized void generateTeam() {
+    try {
+      delegate.generateTeam();
+    } finally {
+      recordVersion();
+    }
+  }
+
+  @Override
+  public synchronized void generateStartingLineup() {
+    try {
+      delegate.generateStartingLineup();
+    } finally {
+      recordVersion();
+    }
+  }
+
+  @Override
+  public synchronized void addPlayer(String lastName, String firstName, LocalDate birthdate,
+                                     Position preferredPosition, int skillLevel) {
+    try {
+      delegate.addPlayer(lastName, firstName, birthdate, preferredPosition, skillLevel);
+    } finally {
+      recordVersion();
+    }
+  }
+
+  @Override
+  public synchronized void removePlayer(String id) {
+    try {
+      delegate.removePlayer(id);
+    } finally {
+      recordVersion();
+    }
+  }
+
+  @Override
+  public synchronized List<String> removePlayers(Collection<String> ids) {
+    try {
+      return delegate.removePlayers(ids);
+    } finally {
+      recordVersion();
+    }
+  }
+
+  @Override
+  public List<Player> getPlayers() {
+    return delegate.getPlayers();
+  }
+
+  @Override
+  public Team getTeam() {
+    return delegate.getTeam();
+  }
+
+  @Override
+  public void addModelListener(SoccerTeamModelListener listener) {
+    delegate.addModelListener(listener);
+  }
+
+  @Override
+  public void removeModelListener(SoccerTeamModelListener listener) {
+    delegate.removeModelListener(listener);
+  }
+
+  /**
+   * Returns the latest version of the roster.
+   *
+   * @return the latest version
+   */
+  public RosterSnapshot latest() {
+    return versions.lastEntry().getValue();
+  }
+
+  /**
+   * Returns the roster as it was in the given version.
+   *
+   * @param version the version number
+   * @return the version
+   * @throws IllegalArgumentException if the version does not exist or was dropped
+   */
+  public RosterSnapshot asOf(long version) throws IllegalArgumentException {
+    RosterSnapshot snapshot = versions.get(version);
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Version " + version + " is not kept");
+    }
+    return snapshot;
+  }
+
+  /**
+   * Returns the roster as it was at the given time, that is the last version made at or
+   * before that time.
+   *
+   * @param time the time
+   * @return the version
+   * @throws IllegalArgumentException if the time is null or before the oldest kept version
+   */
+  public RosterSnapshot asOf(Instant time) throws IllegalArgumentException {
+    if (time == null) {
+      throw new IllegalArgumentException("Time cannot be null");
+    }
+    Map.Entry<Instant, RosterSnapshot> entry = versionsByTime.floorEntry(time);
+    if (entry == null) {
+      throw new IllegalArgumentException("No version is kept from " + time);
+    }
+    return entry.getValue();
+  }
+
+  /**
+   * Returns the versions that are kept, oldest first.
+   *
+   * @return the versions
+   */
+  public List<RosterSnapshot> getVersions() {
+    return new ArrayList<>(versions.values());
+  }
+
+  /**
+   * Notes that a player was registered.
+   *
+   * @param player the player
+   */
+  private synchronized void playerAdded(Player player) {
+    changedPlayers.put(player.getUuid(), player);
+    addedPlayers.add(player.getUuid());
+  }
+
+  /**
+   * Notes that a player left the roster.
+   *
+   * @param player the player
+   */
+  private synchronized void playerRemoved(Player player) {
+    changedPlayers.put(player.getUuid(), null);
+  }
+
+  /**
+   * Notes that the details of a player changed.
+   *
+   * @param player the player
+   */
+  private synchronized void playerChanged(Player player) {
+    UUID id = player.getUuid();
+    // a removed player stays removed
+    if (!changedPlayers.containsKey(id) || changedPlayers.get(id) != null) {
+      changedPlayers.put(id, player);
+    }
+  }
+
+  /**
+   * Records the current roster as a new version if anything changed since the last one, then
+   * drops the versions that fall outside the retention policy. Only the players that changed
+   * and the team are looked at.
+   */
+  private synchronized void recordVersion() {
+    Team team = delegate.getTeam();
+    if (changedPlayers.isEmpty() && team == lastTeam && team.getVersion() == lastTeamVersion) {
+      return;
+    }
+    lastTeam = team;
+    lastTeamVersion = team.getVersion();
+
+    // apply the changes of the players to the roster list
+    for (Map.Entry<UUID, Player> change : changedPlayers.entrySet()) {
+      UUID id = change.getKey();
+      Player player = change.getValue();
+      if (player == null) {
+        Long key = rosterKeys.remove(id);
+        if (key != null) {
+          roster = roster.without(key);
+        }
+        continue;
+      }
+      Long key = rosterKeys.get(id);
+      if (key == null) {
+        if (!addedPlayers.contains(id)) {
+          // a change of a player who is not registered shows in the team only
+          continue;
+        }
+        key = nextRosterKey++;
+        rosterKeys.put(id, key);
+      }
+      roster = roster.with(key, stateOf(player, roster.find(key)));
+    }
+    changedPlayers.clear();
+    addedPlayers.clear();
+
+    // the team is small, so its states are checked every time
+    Map<UUID, RosterSnapshot.PlayerState> states = new HashMap<>();
+    List<RosterSnapshot.PlayerState> teamList = new ArrayList<>();
+    for (Player player : team.getPlayers()) {
+      UUID id = player.getUuid();
+      Long key = rosterKeys.get(id);
+      RosterSnapshot.PlayerState previous = key != null ? roster.find(key) : teamStates.get(id);
+      RosterSnapshot.PlayerState state = stateOf(player, previous);
+      if (key != null) {
+        roster = roster.with(key, state);
+      }
+      states.put(id, state);
+      teamList.add(state);
+    }
+    List<RosterSnapshot.PlayerState> lineupList = new ArrayList<>();
+    for (Player player : team.getStartingLineup()) {
+      RosterSnapshot.PlayerState state = states.get(player.getUuid());
+      lineupList.add(state != null ? state : stateOf(player, null));
+    }
+    teamStates = states;
+
+    Map.Entry<Long, RosterSnapshot> last = versions.lastEntry();
+    if (last != null && last.getValue().sameAs(roster, teamList, lineupList)) {
+      return;
+    }
+    RosterSnapshot snapshot = new RosterSnapshot(nextVersion++, clock.instant(), roster,
+        teamList, lineupList);
+    versions.put(snapshot.getVersion(), snapshot);
+    versionsByTime.put(snapshot.getTimestamp(), snapshot);
+
+    // drop old versions, always keeping the latest
+    Instant oldestKept = snapshot.getTimestamp().minus(maxAge);
+    while (versions.size() > 1) {
+      RosterSnapshot oldest = versions.firstEntry().getValue();
+      if (versions.size() <= maxVersions && !oldest.getTimestamp().isBefore(oldestKept)) {
+        break;
+      }
+      versions.remove(oldest.getVersion());
+      versionsByTime.remove(oldest.getTimestamp(), oldest);
+    }
+  }
+
+  /**
+   * Returns the state of a player, reusing the previous state if the player did not change.
+   *
+   * @param player   the player
+   * @param previous the previous state of the player, or null
+   * @return the state
+   */
+  private static RosterSnapshot.PlayerState stateOf(Player player,
+                                                    RosterSnapshot.PlayerState previous) {
+    return previous != null && previous.matches(player) ? previous
+        : new RosterSnapshot.PlayerState(player);
+  }
+}
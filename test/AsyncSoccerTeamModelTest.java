@@ -0,0 +1,113 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the AsyncSoccerTeamModel class.
+ */
+public class AsyncSoccerTeamModelTest {
+
+  private AsyncSoccerTeamModel model;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the AsyncSoccerTeamModel instance before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new AsyncSoccerTeamModel(new SoccerTeamModelImpl());
+  }
+
+  /**
+   * Tests that queued operations run in the order they were submitted.
+   */
+  @Test
+  public void testOperationsRunInOrder() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    CompletableFuture<List<Player>> team = model.generateTeam();
+    CompletableFuture<List<Player>> lineup = model.generateStartingLineup();
+
+    assertEquals(SoccerTeamModelImpl.TEAM_LOWER_LIMIT, team.join().size());
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, lineup.join().size());
+  }
+
+  /**
+   * Tests that a failed operation completes exceptionally without stopping later operations.
+   */
+  @Test
+  public void testFailureDoesNotStopLaterOperations() {
+    CompletableFuture<Void> removal = model.removePlayer("unknown");
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    List<Player> players = model.getPlayers().join();
+
+    assertTrue(removal.isCompletedExceptionally());
+    try {
+      removal.join();
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof NullPointerException);
+    }
+    assertEquals(1, players.size());
+  }
+
+  /**
+   * Tests that cancelling the future of a running operation does not let the next operation
+   * run on the model at the same time.
+   *
+   * @throws InterruptedException if the test is interrupted
+   */
+  @Test
+  public void testCancelDoesNotReleaseQueue() throws InterruptedException {
+    SoccerTeamModelImpl impl = new SoccerTeamModelImpl();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    impl.addModelListener(new SoccerTeamModelListener() {
+      @Override
+      public void playerAdded(Player player) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      AsyncSoccerTeamModel async = new AsyncSoccerTeamModel(impl, executor);
+      CompletableFuture<Void> addition = async.addPlayer("Doe", "John",
+          LocalDate.now().minusYears(5), Position.FORWARD, 3);
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      addition.cancel(true);
+      CompletableFuture<List<Player>> players = async.getPlayers();
+      Thread.sleep(100);
+
+      assertFalse(players.isDone());
+      release.countDown();
+      assertEquals(1, players.join().size());
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that a null model cannot be wrapped.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    new AsyncSoccerTeamModel(null);
+  }
+}
@@ -0,0 +1,96 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the InstrumentedSoccerTeamModel class.
+ */
+public class InstrumentedSoccerTeamModelTest {
+
+  private InstrumentedSoccerTeamModel model;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the InstrumentedSoccerTeamModel instance before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new InstrumentedSoccerTeamModel(new SoccerTeamModelImpl());
+  }
+
+  /**
+   * Tests that successful calls are counted and passed on to the wrapped model.
+   */
+  @Test
+  public void testCountsCalls() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    model.addPlayer("Smith", "Jane", LocalDate.now().minusYears(5), Position.DEFENDER, 4);
+    model.removePlayer(model.getPlayers().get(0).getId());
+
+    SoccerTeamMetrics metrics = model.getMetrics();
+    assertEquals(2, metrics.getAddPlayer().getCount());
+    assertEquals(0, metrics.getAddPlayer().getFailureCount());
+    assertEquals(1, metrics.getRemovePlayer().getCount());
+    assertEquals(1, metrics.getRosterSize());
+    assertTrue(metrics.getAddPlayer().getMaxLatencyNanos()
+        >= metrics.getAddPlayer().getP50LatencyNanos());
+  }
+
+  /**
+   * Tests that a call that throws is counted as a failure and the exception is rethrown.
+   */
+  @Test
+  public void testCountsFailures() {
+    try {
+      model.generateTeam();
+    } catch (IllegalStateException e) {
+      assertEquals(1, model.getMetrics().getGenerateTeam().getCount());
+      assertEquals(1, model.getMetrics().getGenerateTeam().getFailureCount());
+      return;
+    }
+    throw new AssertionError("Expected an IllegalStateException");
+  }
+
+  /**
+   * Tests that the sizes of the team and the starting lineup are published after a change.
+   */
+  @Test
+  public void testPublishesSizes() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    }
+    SoccerTeamMetrics metrics = model.getMetrics();
+    assertEquals(0, metrics.getTeamSize());
+    model.generateTeam();
+    model.generateStartingLineup();
+    assertEquals(SoccerTeamModelImpl.TEAM_LOWER_LIMIT, metrics.getRosterSize());
+    assertEquals(model.getTeam().size(), metrics.getTeamSize());
+    assertEquals(model.getTeam().getStartingLineup().size(), metrics.getStartingLineupSize());
+  }
+
+  /**
+   * Tests that the metrics can be read through the platform MBean server.
+   *
+   * @throws Exception if the MBean cannot be read
+   */
+  @Test
+  public void testRegister() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    model.getMetrics().register(server, "test");
+    try {
+      model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+      assertEquals(1, server.getAttribute(
+          new ObjectName("SoccerTeam:type=Model,name=test"), "RosterSize"));
+      assertEquals(1L, server.getAttribute(
+          new ObjectName("SoccerTeam:type=Operation,model=test,name=addPlayer"), "Count"));
+    } finally {
+      model.getMetrics().unregister(server);
+    }
+  }
+}
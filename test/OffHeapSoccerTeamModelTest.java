@@ -0,0 +1,167 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the OffHeapSoccerTeamModel class.
+ */
+public class OffHeapSoccerTeamModelTest {
+
+  private OffHeapSoccerTeamModel model;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the OffHeapSoccerTeamModel instance before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new OffHeapSoccerTeamModel();
+  }
+
+  /**
+   * Tests the addPlayer method.
+   * Verifies that the player details are read back from the records.
+   */
+  @Test
+  public void testAddPlayer() {
+    LocalDate birthdate = LocalDate.now().minusYears(7);
+    model.addPlayer("M\u00fcller", "J\u00fcrgen", birthdate, Position.GOALIE, 4);
+    Player player = model.getPlayers().get(0);
+    assertEquals(1, model.getPlayers().size());
+    assertEquals("M\u00fcller", player.getLastName());
+    assertEquals("J\u00fcrgen", player.getFirstName());
+    assertEquals(birthdate, player.getBirthdate());
+    assertEquals(Position.GOALIE, player.getPreferredPosition());
+    assertEquals(4, player.getSkillLevel());
+    assertEquals(null, player.getJerseyNumber());
+  }
+
+  /**
+   * Tests the removePlayer method.
+   * Verifies that the later players move up and keep their details.
+   */
+  @Test
+  public void testRemovePlayer() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    model.addPlayer("Smith", "Jane", LocalDate.now().minusYears(5), Position.DEFENDER, 4);
+    model.removePlayer(model.getPlayers().get(0).getId());
+    assertEquals(1, model.getPlayers().size());
+    assertEquals("Smith", model.getPlayers().get(0).getLastName());
+  }
+
+  /**
+   * Tests the removePlayer method with a non-existent player ID.
+   * Expects a NullPointerException to be thrown.
+   */
+  @Test(expected = NullPointerException.class)
+  public void testRemoveNonExistentPlayer() {
+    model.removePlayer("nonexistent-id");
+  }
+
+  /**
+   * Tests the removePlayers method.
+   * Verifies that the listed players are removed, the others keep their order and the team,
+   * and unknown IDs are reported.
+   */
+  @Test
+  public void testRemovePlayers() {
+    for (int i = 0; i < 12; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateTeam();
+    List<Player> players = model.getPlayers();
+    List<String> notFound = model.removePlayers(
+        List.of(players.get(0).getId(), players.get(5).getId(), "unknown"));
+
+    assertEquals(List.of("unknown"), notFound);
+    assertEquals(10, model.getPlayers().size());
+    assertEquals("Doe1", model.getPlayers().get(0).getLastName());
+    assertEquals("Doe6", model.getPlayers().get(4).getLastName());
+    assertEquals(10, model.getTeam().getPlayers().size());
+  }
+
+  /**
+   * Tests the generateTeam and generateStartingLineup methods.
+   * Verifies that the strongest players make the team with distinct jersey numbers, and that
+   * removing a team member keeps the rest of the team.
+   */
+  @Test
+  public void testGenerateTeamAndLineup() {
+    for (int i = 0; i < 25; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5),
+          Position.values()[i % Position.values().length], 1 + i % 5);
+    }
+    model.generateStartingLineup();
+    List<Player> team = model.getTeam().getPlayers();
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, team.size());
+    assertEquals(5, team.get(0).getSkillLevel());
+    assertEquals(2, team.get(team.size() - 1).getSkillLevel());
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT,
+        team.stream().map(Player::getJerseyNumber).distinct().count());
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT,
+        model.getTeam().getStartingLineup().size());
+    assertEquals(SoccerTeamModelImpl.NUMBER_OF_MIDFIELDERS, model.getTeam().getStartingLineup()
+        .stream().filter(p -> p.getAssignedPosition() == Position.MIDFIELDER).count());
+
+    Player removed = team.get(0);
+    model.removePlayer(removed.getId());
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT - 1, model.getTeam().getPlayers().size());
+    assertTrue(model.getTeam().getPlayers().stream()
+        .noneMatch(p -> p.getId().equals(removed.getId())));
+    assertEquals(team.get(1).getId(), model.getTeam().getPlayers().get(0).getId());
+  }
+
+  /**
+   * Tests the generateTeam method with insufficient players.
+   * Expects an IllegalStateException to be thrown.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testGenerateTeamWithInsufficientPlayers() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    model.generateTeam();
+  }
+
+  /**
+   * Tests that a listener that throws while positions are assigned neither interrupts the
+   * lineup nor keeps the other listeners from being told.
+   */
+  @Test
+  public void testThrowingListenerDoesNotInterruptChange() {
+    List<Throwable> reported = new ArrayList<>();
+    List<List<Player>> lineups = new ArrayList<>();
+    Thread thread = Thread.currentThread();
+    Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+    try {
+      for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+        model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+      }
+      model.addModelListener(new SoccerTeamModelListener() {
+        @Override
+        public void positionAssigned(Player player) {
+          throw new IllegalStateException("broken listener");
+        }
+      });
+      model.addModelListener(new SoccerTeamModelListener() {
+        @Override
+        public void lineupGenerated(List<Player> startingLineup) {
+          lineups.add(startingLineup);
+        }
+      });
+      model.generateStartingLineup();
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, reported.size());
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, model.getTeam().getStartingLineup().size());
+    assertTrue(model.getTeam().getStartingLineup().stream()
+        .allMatch(p -> p.getAssignedPosition() != null));
+    assertEquals(1, lineups.size());
+  }
+}
@@ -0,0 +1,91 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the PlayerStateList class.
+ */
+public class PlayerStateListTest {
+
+  private List<RosterSnapshot.PlayerState> states;
+
+  /**
+   * Sets up the test fixture.
+   * Creates the states of 1000 players.
+   */
+  @Before
+  public void setUp() {
+    states = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      states.add(new RosterSnapshot.PlayerState(
+          new Player("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3)));
+    }
+  }
+
+  /**
+   * Tests that the states are kept in the order of their keys, whatever order they were added
+   * in.
+   */
+  @Test
+  public void testOrderedByKey() {
+    PlayerStateList list = PlayerStateList.EMPTY;
+    for (int i = states.size() - 1; i >= 0; i--) {
+      list = list.with(i, states.get(i));
+    }
+    assertEquals(states, list);
+    assertEquals(states, new ArrayList<>(list));
+    assertSame(states.get(500), list.find(500));
+    assertNull(list.find(1000));
+  }
+
+  /**
+   * Tests that a change makes a new list and leaves the old one as it was.
+   */
+  @Test
+  public void testChangesLeaveOldListAlone() {
+    PlayerStateList before = PlayerStateList.EMPTY;
+    for (int i = 0; i < states.size(); i++) {
+      before = before.with(i, states.get(i));
+    }
+    PlayerStateList after = before.without(10).with(20, states.get(0));
+
+    assertEquals(states, before);
+    assertEquals(states.size() - 1, after.size());
+    assertSame(states.get(11), after.get(10));
+    assertSame(states.get(0), after.get(19));
+    assertSame(before, before.without(5000));
+    assertSame(before, before.with(30, states.get(30)));
+  }
+
+  /**
+   * Tests that removing every state in a mixed order empties the list.
+   */
+  @Test
+  public void testRemoveAll() {
+    PlayerStateList list = PlayerStateList.EMPTY;
+    for (int i = 0; i < states.size(); i++) {
+      list = list.with(i, states.get(i));
+    }
+    for (int i = 0; i < states.size(); i++) {
+      list = list.without((i * 7L) % states.size());
+    }
+    assertTrue(list.isEmpty());
+    assertTrue(!list.iterator().hasNext());
+  }
+
+  /**
+   * Tests looking up a position beyond the end of the list.
+   * Expects an IndexOutOfBoundsException to be thrown.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    PlayerStateList.EMPTY.with(1, states.get(0)).get(1);
+  }
+}
@@ -1,8 +1,12 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
 
 /**
  * This class contains tests for the Player class.
@@ -10,13 +14,40 @@ import org.junit.Test;
 public class PlayerTest {
 
   private Player player;
+  private LocalDate birthdate;
+
+  /**
+   * A player laid out as before the layout was made compact, to compare footprints with.
+   */
+  private static final class LegacyPlayer {
+    private final String lastName;
+    private final String firstName;
+    private final LocalDate birthdate;
+    private final Position preferredPosition;
+    private final int skillLevel;
+    private final Integer jerseyNumber;
+    private final Position assignedPosition;
+    private final String id;
+
+    LegacyPlayer(Player player) {
+      this.lastName = player.getLastName();
+      this.firstName = player.getFirstName();
+      this.birthdate = player.getBirthdate();
+      this.preferredPosition = player.getPreferredPosition();
+      this.skillLevel = player.getSkillLevel();
+      this.jerseyNumber = player.getJerseyNumber();
+      this.assignedPosition = player.getAssignedPosition();
+      this.id = player.getId();
+    }
+  }
 
   /**
    * Sets up a player object before each test.
    */
   @Before
   public void setUp() {
-    player = new Player("Doe", "John", LocalDate.of(2017, 1, 1), Position.FORWARD, 3);
+    birthdate = LocalDate.now().minusYears(9);
+    player = new Player("Doe", "John", birthdate, Position.FORWARD, 3);
   }
 
   /**
@@ -26,18 +57,29 @@ public class PlayerTest {
   public void testPlayerCreationValid() {
     assertEquals("Doe", player.getLastName());
     assertEquals("John", player.getFirstName());
-    assertEquals(LocalDate.of(2017, 1, 1), player.getBirthdate());
+    assertEquals(birthdate, player.getBirthdate());
     assertEquals(Position.FORWARD, player.getPreferredPosition());
     assertEquals(3, player.getSkillLevel());
   }
 
+  /**
+   * Tests that players with the same names share the name strings.
+   */
+  @Test
+  public void testNamesAreShared() {
+    Player other =
+        new Player(new String(" Doe "), new String("John"), birthdate, Position.GOALIE, 1);
+    assertSame(player.getLastName(), other.getLastName());
+    assertSame(player.getFirstName(), other.getFirstName());
+  }
+
   /**
    * Tests the creation of a player with an empty last name.
    * Expects an IllegalArgumentException to be thrown.
    */
   @Test(expected = IllegalArgumentException.class)
   public void testPlayerCreationInvalidLastName() {
-    new Player("", "John", LocalDate.of(2017, 1, 1), Position.FORWARD, 3);
+    new Player("", "John", birthdate, Position.FORWARD, 3);
   }
 
   /**
@@ -77,6 +119,55 @@ public class PlayerTest {
     assertEquals(jerseyNumber, player.getJerseyNumber());
   }
 
+  /**
+   * Tests clearing the jersey number.
+   * Verifies that the jersey number is null again afterwards.
+   */
+  @Test
+  public void testClearJerseyNumber() {
+    player.setJerseyNumber(20);
+    player.clearJerseyNumber();
+    assertEquals(null, player.getJerseyNumber());
+  }
+
+  /**
+   * Tests that the id of the player is a stable UUID string.
+   */
+  @Test
+  public void testGetId() {
+    assertEquals(36, player.getId().length());
+    assertEquals(player.getId(), player.getId());
+    assertEquals(player.getId(), UUID.fromString(player.getId()).toString());
+  }
+
+  /**
+   * Tests that the UUID of the player is kept rather than built again on every call.
+   */
+  @Test
+  public void testGetUuidIsKept() {
+    assertSame(player.getUuid(), player.getUuid());
+    assertEquals(player.getId(), player.getUuid().toString());
+  }
+
+  /**
+   * Tests with JOL that a player, not counting the names and positions it shares with other
+   * players, takes less than half the memory of the legacy layout.
+   */
+  @Test
+  public void testFootprint() {
+    player.setJerseyNumber(10);
+    player.setAssignedPosition(Position.DEFENDER);
+    LegacyPlayer legacy = new LegacyPlayer(player);
+    GraphLayout shared = GraphLayout.parseInstance(player.getLastName(), player.getFirstName(),
+        player.getJerseyNumber()).add(GraphLayout.parseInstance((Object[]) Position.values()));
+
+    long footprint = GraphLayout.parseInstance(player).subtract(shared).totalSize();
+    long legacyFootprint = GraphLayout.parseInstance(legacy).subtract(shared).totalSize();
+    assertTrue("Player takes " + footprint + " bytes", footprint <= 72);
+    assertTrue("Player takes " + footprint + " bytes, the legacy layout " + legacyFootprint,
+        footprint * 2 < legacyFootprint);
+  }
+
   /**
    * Tests setting an invalid jersey number (0).
    * Expects an IllegalArgumentException to be thrown.
@@ -102,7 +193,7 @@ public class PlayerTest {
   @Test
   public void testToString() {
     String expectedString = "Player{" + "lastName: 'Doe'" + ", firstName: 'John'"
-        + ", birthdate: 2017-01-01" + ", preferredPosition: FORWARD"
+        + ", birthdate: " + birthdate + ", preferredPosition: FORWARD"
         + ", skillLevel: 3" + ", jerseyNumber: null"
         + ", assignedPosition: null" + ", id: '" + player.getId()
         + "'" + '}';
@@ -0,0 +1,74 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the RenderedViewCache class.
+ */
+public class RenderedViewCacheTest {
+
+  private SoccerTeamModelImpl model;
+  private RenderedViewCache cache;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes a model with a generated lineup and an empty cache before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new SoccerTeamModelImpl();
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT + 1; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+    cache = new RenderedViewCache(2);
+  }
+
+  /**
+   * Tests that repeated views of an unchanged team are answered from the cache.
+   */
+  @Test
+  public void testHitsForUnchangedTeam() {
+    List<Object[]> rows = cache.getTeamRows(model.getTeam());
+    assertSame(rows, cache.getTeamRows(model.getTeam()));
+    assertEquals(SoccerTeamModelImpl.TEAM_LOWER_LIMIT + 1, rows.size());
+    assertEquals("Doe0", rows.get(0)[1]);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  /**
+   * Tests that a change to the team renders the rows again.
+   */
+  @Test
+  public void testRendersAgainAfterChange() {
+    List<Object[]> rows = cache.getLineupRows(model.getTeam());
+    model.removePlayer(model.getTeam().getStartingLineup().get(0).getId());
+    model.generateStartingLineup();
+    List<Object[]> changed = cache.getLineupRows(model.getTeam());
+    assertNotSame(rows, changed);
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, changed.size());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  /**
+   * Tests that the least recently used entry is dropped when the cache is full.
+   */
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    String text = cache.getTeamReport(model.getTeam(), ReportLayout.TEXT);
+    cache.getTeamRows(model.getTeam());
+    cache.getTeamReport(model.getTeam(), ReportLayout.TEXT);
+    cache.getLineupRows(model.getTeam());
+
+    assertEquals(2, cache.size());
+    assertSame(text, cache.getTeamReport(model.getTeam(), ReportLayout.TEXT));
+    cache.getTeamRows(model.getTeam());
+    assertEquals(4, cache.getMissCount());
+  }
+}
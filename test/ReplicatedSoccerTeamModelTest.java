@@ -0,0 +1,287 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the ReplicatedSoccerTeamModel and ReplicationStandby classes.
+ */
+public class ReplicatedSoccerTeamModelTest {
+
+  private ReplicationStandby standby;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the ReplicationStandby instance before each test.
+   */
+  @Before
+  public void setUp() {
+    standby = new ReplicationStandby(new SoccerTeamModelImpl());
+  }
+
+  /**
+   * Tests that the standby matches the primary after the change log was shipped in process.
+   */
+  @Test
+  public void testInProcessReplication() {
+    ReplicatedSoccerTeamModel primary = new ReplicatedSoccerTeamModel(new SoccerTeamModelImpl(),
+        new InProcessReplicationTransport(standby));
+    applyChanges(primary);
+    primary.flush();
+
+    assertEquals(primary.getLastSequence(), standby.getAppliedSequence());
+    assertSameRoster(primary, standby.getModel());
+    primary.close();
+  }
+
+  /**
+   * Tests that the standby matches the primary after the change log was shipped over a pipe.
+   *
+   * @throws Exception if the pipe fails or the test is interrupted
+   */
+  @Test
+  public void testStreamReplication() throws Exception {
+    PipedInputStream in = new PipedInputStream(1 << 16);
+    PipedOutputStream out = new PipedOutputStream(in);
+    Thread reader = new Thread(() -> {
+      try {
+        standby.readFrom(in);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    reader.start();
+
+    ReplicatedSoccerTeamModel primary = new ReplicatedSoccerTeamModel(new SoccerTeamModelImpl(),
+        new StreamReplicationTransport(out));
+    applyChanges(primary);
+    primary.close();
+    reader.join(5000);
+
+    assertEquals(primary.getLastSequence(), standby.getAppliedSequence());
+    assertSameRoster(primary, standby.getModel());
+  }
+
+  /**
+   * Tests that a batch that does not follow the last applied batch is refused.
+   */
+  @Test
+  public void testRefusesGap() {
+    byte[][] batches = new byte[1][];
+    ReplicatedSoccerTeamModel primary = new ReplicatedSoccerTeamModel(new SoccerTeamModelImpl(),
+        new ReplicationTransport() {
+          @Override
+          public void send(byte[] batch) {
+            batches[0] = batch;
+          }
+
+          @Override
+          public void close() {
+          }
+        });
+    primary.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    primary.flush();
+    standby.apply(batches[0]);
+    try {
+      standby.apply(batches[0]);
+      fail("Expected the repeated batch to be refused");
+    } catch (IllegalStateException e) {
+      assertEquals(1, standby.getAppliedSequence());
+    }
+    primary.close();
+  }
+
+  /**
+   * Tests that a lineup generation that fails on the primary is not replayed, so the standby
+   * keeps following the primary.
+   */
+  @Test
+  public void testFailedLineupIsNotReplicated() {
+    ReplicatedSoccerTeamModel primary = new ReplicatedSoccerTeamModel(new SoccerTeamModelImpl(),
+        new InProcessReplicationTransport(standby));
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      primary.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    primary.generateTeam();
+    for (int i = 0; i < 4; i++) {
+      primary.removePlayer(primary.getTeam().getPlayers().get(0).getId());
+    }
+    try {
+      primary.generateStartingLineup();
+      fail("Expected the lineup of a team of 6 to fail");
+    } catch (IndexOutOfBoundsException e) {
+      // the team is too small
+    }
+    primary.addPlayer("Late", "Lily", LocalDate.now().minusYears(4), Position.GOALIE, 5);
+    primary.flush();
+
+    assertEquals(primary.getLastSequence(), standby.getAppliedSequence());
+    assertEquals(7, standby.getModel().getPlayers().size());
+    assertSameRoster(primary, standby.getModel());
+    primary.close();
+  }
+
+  /**
+   * Tests that a team generation that fails on the primary after clearing the team clears the
+   * team of the standby as well.
+   */
+  @Test
+  public void testFailedGenerationClearsStandbyTeam() {
+    ReplicatedSoccerTeamModel primary = new ReplicatedSoccerTeamModel(new SoccerTeamModelImpl(),
+        new InProcessReplicationTransport(standby));
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      primary.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    primary.generateTeam();
+    primary.removePlayer(primary.getPlayers().get(0).getId());
+    try {
+      primary.generateTeam();
+      fail("Expected the team of 9 players to fail");
+    } catch (IllegalStateException e) {
+      // too few players
+    }
+    primary.flush();
+
+    assertEquals(0, standby.getModel().getTeam().size());
+    assertSameRoster(primary, standby.getModel());
+    primary.close();
+  }
+
+  /**
+   * Tests that a batch with a change that does not fit the standby is refused as a whole, so
+   * none of its changes is applied.
+   *
+   * @throws IOException if the batch cannot be written
+   */
+  @Test
+  public void testRefusesBatchAsWhole() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeLong(1);
+    out.writeInt(2);
+    UUID id = UUID.randomUUID();
+    out.writeByte(ReplicatedSoccerTeamModel.ADD);
+    out.writeLong(id.getMostSignificantBits());
+    out.writeLong(id.getLeastSignificantBits());
+    out.writeUTF("Doe");
+    out.writeUTF("John");
+    out.writeInt((int) LocalDate.now().minusYears(5).toEpochDay());
+    out.writeByte(Position.FORWARD.ordinal());
+    out.writeByte(3);
+    out.writeByte(ReplicatedSoccerTeamModel.REMOVE);
+    out.writeUTF(UUID.randomUUID().toString());
+
+    try {
+      standby.apply(compress(bytes.toByteArray()));
+      fail("Expected the removal of an unknown player to be refused");
+    } catch (IllegalStateException e) {
+      assertEquals(0, standby.getAppliedSequence());
+      assertTrue(standby.getModel().getPlayers().isEmpty());
+    }
+  }
+
+  /**
+   * Tests that a batch the standby refused is reported by every later shipment instead of
+   * being sent again.
+   */
+  @Test
+  public void testRefusedBatchStopsReplication() {
+    int[] sends = new int[1];
+    ReplicatedSoccerTeamModel primary = new ReplicatedSoccerTeamModel(new SoccerTeamModelImpl(),
+        new ReplicationTransport() {
+          @Override
+          public void send(byte[] batch) {
+            sends[0]++;
+            throw new IllegalStateException("refused");
+          }
+
+          @Override
+          public void close() {
+          }
+        }, 60_000);
+    primary.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    for (int i = 0; i < 2; i++) {
+      try {
+        primary.flush();
+        fail("Expected the refused batch to be reported");
+      } catch (IllegalStateException e) {
+        assertTrue(e.getMessage().contains("refused"));
+      }
+    }
+    assertEquals(1, sends[0]);
+  }
+
+  /**
+   * Compresses a batch the way the primary does.
+   *
+   * @param batch the batch
+   * @return the compressed batch
+   */
+  private byte[] compress(byte[] batch) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    deflater.setInput(batch);
+    deflater.finish();
+    byte[] compressed = new byte[batch.length + 64];
+    int length = deflater.deflate(compressed);
+    deflater.end();
+    return Arrays.copyOf(compressed, length);
+  }
+
+  /**
+   * Applies a mix of changes to a primary.
+   *
+   * @param primary the primary
+   */
+  private void applyChanges(ReplicatedSoccerTeamModel primary) {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_UPPER_LIMIT + 3; i++) {
+      primary.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5),
+          Position.values()[i % Position.values().length], 1 + i % 5);
+    }
+    primary.generateStartingLineup();
+    primary.removePlayer(primary.getTeam().getPlayers().get(2).getId());
+    primary.removePlayers(List.of(primary.getPlayers().get(0).getId(), "unknown"));
+    primary.addPlayer("Late", "Lily", LocalDate.now().minusYears(4), Position.GOALIE, 5);
+    primary.generateStartingLineup();
+  }
+
+  /**
+   * Checks that two models have the same players, team, jersey numbers and lineup.
+   *
+   * @param expected the primary
+   * @param actual   the standby model
+   */
+  private void assertSameRoster(SoccerTeamModel expected, SoccerTeamModel actual) {
+    assertEquals(describe(expected.getPlayers()), describe(actual.getPlayers()));
+    assertEquals(describe(expected.getTeam().getPlayers()),
+        describe(actual.getTeam().getPlayers()));
+    assertEquals(describe(expected.getTeam().getStartingLineup()),
+        describe(actual.getTeam().getStartingLineup()));
+  }
+
+  /**
+   * Describes players by id, jersey number and assigned position.
+   *
+   * @param players the players
+   * @return the description
+   */
+  private String describe(List<Player> players) {
+    StringBuilder description = new StringBuilder();
+    for (Player player : players) {
+      description.append(player.getId()).append(' ').append(player.getJerseyNumber())
+          .append(' ').append(player.getAssignedPosition()).append('\n');
+    }
+    return description.toString();
+  }
+}
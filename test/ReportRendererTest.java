@@ -0,0 +1,87 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the ReportRenderer class.
+ */
+public class ReportRendererTest {
+
+  private Team team;
+  private Player player;
+  private LocalDate birthdate;
+
+  /**
+   * Sets up a team with one player.
+   */
+  @Before
+  public void setUp() {
+    team = new Team();
+    birthdate = LocalDate.now().minusYears(7);
+    player = new Player("Doe<3", "John", birthdate, Position.FORWARD, 3);
+    player.setJerseyNumber(12);
+    team.addPlayer(player);
+  }
+
+  /**
+   * Tests writing a team in the text layout.
+   *
+   * @throws IOException if writing fails
+   */
+  @Test
+  public void testRenderTeamAsText() throws IOException {
+    StringBuilder out = new StringBuilder();
+    new ReportRenderer(ReportLayout.TEXT).renderTeam(team, out);
+    assertEquals("Team\n"
+        + "First Name | Last Name | Birthdate | Preferred Position | Skill Level | Jersey Number\n"
+        + "John | Doe<3 | " + birthdate + " | FORWARD | 3 | 12\n", out.toString());
+  }
+
+  /**
+   * Tests writing a team in the Markdown layout.
+   *
+   * @throws IOException if writing fails
+   */
+  @Test
+  public void testRenderTeamAsMarkdown() throws IOException {
+    StringBuilder out = new StringBuilder();
+    new ReportRenderer(ReportLayout.MARKDOWN).renderTeam(team, out);
+    assertTrue(out.toString().startsWith("## Team\n\n| First Name |"));
+    assertTrue(out.toString().contains(
+        "| John | Doe<3 | " + birthdate + " | FORWARD | 3 | 12 |\n"));
+  }
+
+  /**
+   * Tests that the HTML layout escapes the cell text.
+   *
+   * @throws IOException if writing fails
+   */
+  @Test
+  public void testRenderRegistryAsHtml() throws IOException {
+    StringBuilder out = new StringBuilder();
+    new ReportRenderer(ReportLayout.HTML).renderRegistry(team.getPlayers(), out);
+    assertTrue(out.toString().contains("<tr><td>John</td><td>Doe&lt;3</td><td>" + birthdate
+        + "</td><td>FORWARD</td><td>3</td></tr>"));
+  }
+
+  /**
+   * Tests writing the starting lineup.
+   *
+   * @throws IOException if writing fails
+   */
+  @Test
+  public void testRenderStartingLineup() throws IOException {
+    player.setAssignedPosition(Position.MIDFIELDER);
+    team.setStartingLineup(new ArrayList<>(List.of(player)));
+    StringBuilder out = new StringBuilder();
+    new ReportRenderer(ReportLayout.TEXT).renderStartingLineup(team, out);
+    assertTrue(out.toString().endsWith(
+        "John | Doe<3 | " + birthdate + " | MIDFIELDER | 3 | 12\n"));
+  }
+}
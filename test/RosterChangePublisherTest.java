@@ -0,0 +1,112 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the RosterChangePublisher class.
+ */
+public class RosterChangePublisherTest {
+
+  private SoccerTeamModelImpl model;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the SoccerTeamModelImpl instance before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new SoccerTeamModelImpl();
+  }
+
+  /**
+   * Tests that registrations, jersey assignments and the lineup reach a subscriber in order.
+   *
+   * @throws InterruptedException if the test is interrupted
+   */
+  @Test
+  public void testPublishesChanges() throws InterruptedException {
+    RosterChangePublisher publisher = new RosterChangePublisher();
+    model.addModelListener(publisher);
+    List<RosterChangeEvent> events = new CopyOnWriteArrayList<>();
+    CountDownLatch completed = new CountDownLatch(1);
+    publisher.subscribe(new Flow.Subscriber<RosterChangeEvent>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(RosterChangeEvent item) {
+        events.add(item);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+        completed.countDown();
+      }
+    });
+
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+    publisher.close();
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+
+    assertEquals(2 * SoccerTeamModelImpl.TEAM_LOWER_LIMIT + 1, events.size());
+    assertEquals(RosterChangeEvent.Type.PLAYER_ADDED, events.get(0).getType());
+    assertEquals("Doe0", events.get(0).getLastName());
+    RosterChangeEvent last = events.get(events.size() - 1);
+    assertEquals(RosterChangeEvent.Type.LINEUP_CHANGED, last.getType());
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, last.getLineup().size());
+    for (int i = 0; i < events.size(); i++) {
+      assertEquals(i + 1, events.get(i).getSequence());
+    }
+  }
+
+  /**
+   * Tests that events for a subscriber that requests nothing are dropped instead of
+   * blocking the model.
+   */
+  @Test
+  public void testDropsEventsForSlowSubscriber() {
+    RosterChangePublisher publisher = new RosterChangePublisher(Runnable::run, 1);
+    model.addModelListener(publisher);
+    publisher.subscribe(new Flow.Subscriber<RosterChangeEvent>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+      }
+
+      @Override
+      public void onNext(RosterChangeEvent item) {
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    for (int i = 0; i < 5; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    assertEquals(5, model.getPlayers().size());
+    assertTrue(publisher.getDroppedCount() > 0);
+    publisher.close();
+  }
+}
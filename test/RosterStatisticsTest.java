@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the RosterStatistics class as kept by the model and the team.
+ */
+public class RosterStatisticsTest {
+
+  private SoccerTeamModelImpl model;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the SoccerTeamModelImpl instance before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new SoccerTeamModelImpl();
+  }
+
+  /**
+   * Tests that the registry statistics follow added and removed players.
+   */
+  @Test
+  public void testRegistryStatistics() {
+    LocalDate birthdate = LocalDate.now().minusYears(5);
+    model.addPlayer("Doe", "John", birthdate, Position.FORWARD, 5);
+    model.addPlayer("Smith", "Jane", birthdate, Position.FORWARD, 2);
+    model.addPlayer("Brown", "Alice", birthdate.minusYears(1), Position.GOALIE, 4);
+
+    RosterStatistics statistics = model.getRegistryStatistics();
+    assertEquals(3, statistics.getPlayerCount());
+    assertEquals(2, statistics.getPlayerCount(Position.FORWARD));
+    assertEquals(3.5, statistics.getAverageSkill(Position.FORWARD), 1e-9);
+    assertEquals(0, statistics.getAverageSkill(Position.DEFENDER), 1e-9);
+    assertEquals(Integer.valueOf(2), statistics.getBirthYearCounts().get(birthdate.getYear()));
+
+    model.removePlayer(model.getPlayers().get(2).getId());
+    assertEquals(2, statistics.getPlayerCount());
+    assertEquals(null, statistics.getBirthYearCounts().get(birthdate.getYear() - 1));
+  }
+
+  /**
+   * Tests that the team statistics follow team generation, the lineup and removals.
+   */
+  @Test
+  public void testTeamStatistics() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_UPPER_LIMIT + 2; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5),
+          Position.values()[i % Position.values().length], 1 + i % 5);
+    }
+    model.generateStartingLineup();
+    RosterStatistics statistics = model.getTeam().getStatistics();
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, statistics.getPlayerCount());
+    for (Position position : Position.values()) {
+      assertTrue(statistics.isCovered(position));
+    }
+    double expectedAverage = model.getTeam().getPlayers().stream()
+        .mapToInt(Player::getSkillLevel).average().getAsDouble();
+    assertEquals(expectedAverage, statistics.getAverageSkill(), 1e-9);
+
+    Player goalie = model.getTeam().getStartingLineup().stream()
+        .filter(player -> player.getAssignedPosition() == Position.GOALIE).findFirst().get();
+    model.removePlayers(List.of(goalie.getId()));
+    assertFalse(statistics.isCovered(Position.GOALIE));
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, statistics.getPlayerCount());
+  }
+
+  /**
+   * Tests that a player whose position and skill level changed while counted is taken away
+   * with the values that were counted.
+   */
+  @Test
+  public void testChangedPlayerIsRemovedAsCounted() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    Player player = model.getPlayers().get(0);
+    player.setPreferredPosition(Position.GOALIE);
+    player.setSkillLevel(1);
+    model.removePlayer(player.getId());
+
+    RosterStatistics statistics = model.getRegistryStatistics();
+    assertEquals(0, statistics.getPlayerCount());
+    assertEquals(0, statistics.getPlayerCount(Position.GOALIE));
+    assertEquals(0, statistics.getPlayerCount(Position.FORWARD));
+    assertEquals(0, statistics.getAverageSkill(), 1e-9);
+  }
+
+  /**
+   * Tests that the birth year counts are a copy that later changes do not reach.
+   */
+  @Test
+  public void testBirthYearCountsAreSnapshot() {
+    LocalDate birthdate = LocalDate.now().minusYears(5);
+    model.addPlayer("Doe", "John", birthdate, Position.FORWARD, 5);
+    Map<Integer, Integer> counts = model.getRegistryStatistics().getBirthYearCounts();
+    model.addPlayer("Smith", "Jane", birthdate, Position.FORWARD, 2);
+
+    assertEquals(Integer.valueOf(1), counts.get(birthdate.getYear()));
+    assertEquals(Integer.valueOf(2),
+        model.getRegistryStatistics().getBirthYearCounts().get(birthdate.getYear()));
+  }
+}
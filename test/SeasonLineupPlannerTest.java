@@ -0,0 +1,88 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the SeasonLineupPlanner class.
+ */
+public class SeasonLineupPlannerTest {
+
+  private Team team;
+  private List<LocalDate> matchDates;
+
+  /**
+   * Sets up a team of 14 players and a season of 30 weekly matches.
+   */
+  @Before
+  public void setUp() {
+    team = new Team();
+    Position[] positions = Position.values();
+    for (int i = 0; i < 14; i++) {
+      team.addPlayer(new Player("Doe" + i, "John", LocalDate.now().minusYears(6),
+          positions[i % positions.length], 1 + i % 5));
+    }
+    matchDates = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      matchDates.add(LocalDate.of(2026, 1, 3).plusWeeks(i));
+    }
+  }
+
+  /**
+   * Tests that every lineup is full and that starts are shared evenly over the season.
+   */
+  @Test
+  public void testBalancedStarts() {
+    SeasonLineupPlanner planner = new SeasonLineupPlanner(team, matchDates);
+    for (LocalDate date : matchDates) {
+      Map<Player, Position> lineup = planner.getLineup(date);
+      assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, lineup.size());
+      assertEquals(SoccerTeamModelImpl.NUMBER_OF_GOALIE,
+          lineup.values().stream().filter(p -> p == Position.GOALIE).count());
+    }
+    for (Player player : team.getPlayers()) {
+      assertEquals(15, planner.getStarts(player.getId()));
+    }
+  }
+
+  /**
+   * Tests that a player who cannot play is left out, and that earlier matches keep their
+   * lineups when the availability changes.
+   */
+  @Test
+  public void testUnavailablePlayer() {
+    SeasonLineupPlanner planner = new SeasonLineupPlanner(team, matchDates);
+    Map<Player, Position> firstLineup = planner.getLineup(matchDates.get(0));
+    Player player = planner.getLineup(matchDates.get(5)).keySet().iterator().next();
+
+    planner.setUnavailablePlayers(matchDates.get(5), List.of(player.getId()));
+    assertFalse(planner.getLineup(matchDates.get(5)).containsKey(player));
+    assertEquals(firstLineup, planner.getLineup(matchDates.get(0)));
+    assertTrue(planner.getStarts(player.getId()) >= 14);
+  }
+
+  /**
+   * Tests asking for the lineup of a date without a match.
+   * Expects an IllegalArgumentException to be thrown.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoMatchOnDate() {
+    new SeasonLineupPlanner(team, matchDates).getLineup(LocalDate.of(2026, 1, 4));
+  }
+
+  /**
+   * Tests creating a planner with a null match date among others.
+   * Expects an IllegalArgumentException to be thrown.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullMatchDate() {
+    matchDates.add(null);
+    new SeasonLineupPlanner(team, matchDates);
+  }
+}
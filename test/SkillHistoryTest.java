@@ -0,0 +1,107 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the SkillHistory class.
+ */
+public class SkillHistoryTest {
+
+  private SkillHistory history;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the SkillHistory instance before each test.
+   */
+  @Before
+  public void setUp() {
+    history = new SkillHistory();
+  }
+
+  /**
+   * Tests that the trajectory of a player is read back in order and that repeated records
+   * without a change are skipped.
+   */
+  @Test
+  public void testTrajectory() {
+    LocalDate start = LocalDate.of(2024, 9, 1);
+    history.record("a", start, 2, Position.DEFENDER);
+    history.record("a", start.plusDays(3), 2, Position.DEFENDER);
+    history.record("a", start.plusDays(400), 4, Position.MIDFIELDER);
+
+    List<SkillHistory.Entry> trajectory = history.getTrajectory("a");
+    assertEquals(2, trajectory.size());
+    assertEquals(start, trajectory.get(0).getDate());
+    assertEquals(2, trajectory.get(0).getSkillLevel());
+    assertEquals(start.plusDays(400), trajectory.get(1).getDate());
+    assertEquals(4, trajectory.get(1).getSkillLevel());
+    assertEquals(Position.MIDFIELDER, trajectory.get(1).getPosition());
+    assertTrue(history.getTrajectory("b").isEmpty());
+  }
+
+  /**
+   * Tests that only players who improved enough within the dates are found.
+   */
+  @Test
+  public void testPlayersImprovedBy() {
+    LocalDate seasonStart = LocalDate.of(2025, 9, 1);
+    LocalDate seasonEnd = LocalDate.of(2026, 6, 30);
+    history.record("improved", seasonStart.minusDays(30), 1, Position.FORWARD);
+    history.record("improved", seasonStart.plusDays(60), 2, Position.FORWARD);
+    history.record("improved", seasonEnd.minusDays(1), 3, Position.FORWARD);
+    history.record("slow", seasonStart.minusDays(30), 3, Position.GOALIE);
+    history.record("slow", seasonEnd.minusDays(1), 4, Position.GOALIE);
+    history.record("late", seasonStart.minusDays(30), 1, Position.GOALIE);
+    history.record("late", seasonEnd.plusDays(1), 5, Position.GOALIE);
+
+    assertEquals(List.of("improved"), history.playersImprovedBy(2, seasonStart, seasonEnd));
+  }
+
+  /**
+   * Tests that an improvement of zero cannot be asked for, since every player would match.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testImprovedByZero() {
+    history.record("a", LocalDate.of(2025, 1, 1), 2, Position.DEFENDER);
+    history.playersImprovedBy(0, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+  }
+
+  /**
+   * Tests that changes must be recorded in date order.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRecordOutOfOrder() {
+    history.record("a", LocalDate.of(2025, 1, 2), 2, Position.DEFENDER);
+    history.record("a", LocalDate.of(2025, 1, 1), 3, Position.DEFENDER);
+  }
+
+  /**
+   * Tests that a history added to a model records registrations and assigned positions.
+   */
+  @Test
+  public void testRecordsModelChanges() {
+    LocalDate today = LocalDate.of(2026, 3, 1);
+    history = new SkillHistory(Clock.fixed(today.atStartOfDay().toInstant(ZoneOffset.UTC),
+        ZoneOffset.UTC));
+    SoccerTeamModelImpl model = new SoccerTeamModelImpl();
+    model.addModelListener(history);
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+
+    assertEquals(SoccerTeamModelImpl.TEAM_LOWER_LIMIT + SoccerTeamModelImpl.LINEUP_LIMIT
+        - SoccerTeamModelImpl.NUMBER_OF_FORWARD, history.getRecordCount());
+    Player goalie = model.getTeam().getStartingLineup().stream()
+        .filter(player -> player.getAssignedPosition() == Position.GOALIE).findFirst().get();
+    List<SkillHistory.Entry> trajectory = history.getTrajectory(goalie.getId());
+    assertEquals(Position.GOALIE, trajectory.get(trajectory.size() - 1).getPosition());
+    assertEquals(today, trajectory.get(0).getDate());
+  }
+}
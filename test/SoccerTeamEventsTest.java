@@ -0,0 +1,85 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests that the SoccerTeamModelImpl class emits the SoccerTeamEvents.
+ */
+public class SoccerTeamEventsTest {
+
+  private static final String[] EVENT_NAMES = {"soccerteam.TeamGeneration",
+      "soccerteam.LineupGeneration", "soccerteam.JerseyAssignment", "soccerteam.BulkRemoval"};
+
+  private SoccerTeamModelImpl model;
+
+  /**
+   * Sets up the test fixture.
+   * Initializes the SoccerTeamModelImpl instance with a waitlisted player before each test.
+   */
+  @Before
+  public void setUp() {
+    model = new SoccerTeamModelImpl();
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_UPPER_LIMIT + 1; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5),
+          Position.values()[i % Position.values().length], 1 + i % 5);
+    }
+  }
+
+  /**
+   * Tests that team and lineup generation, jersey assignment, the promotion of a waitlisted
+   * player and bulk removal are recorded with their sizes.
+   *
+   * @throws InterruptedException if the test is interrupted
+   */
+  @Test
+  public void testEventsAreRecorded() throws InterruptedException {
+    Map<String, List<RecordedEvent>> recorded = new ConcurrentHashMap<>();
+    CountDownLatch bulkRemoval = new CountDownLatch(1);
+    try (RecordingStream stream = new RecordingStream()) {
+      for (String name : EVENT_NAMES) {
+        stream.enable(name).withoutThreshold();
+        stream.onEvent(name, event -> {
+          recorded.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>()).add(event);
+          if (name.equals("soccerteam.BulkRemoval")) {
+            bulkRemoval.countDown();
+          }
+        });
+      }
+      stream.startAsync();
+
+      model.generateStartingLineup();
+      model.removePlayer(model.getTeam().getPlayers().get(0).getId());
+      model.removePlayers(List.of(model.getTeam().getPlayers().get(0).getId()));
+      assertTrue(bulkRemoval.await(30, TimeUnit.SECONDS));
+    }
+
+    int rosterSize = SoccerTeamModelImpl.TEAM_UPPER_LIMIT + 1;
+    RecordedEvent team = recorded.get("soccerteam.TeamGeneration").get(0);
+    assertEquals(rosterSize, team.getInt("rosterSize"));
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, team.getInt("teamSize"));
+    RecordedEvent lineup = recorded.get("soccerteam.LineupGeneration").get(0);
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, lineup.getInt("playersMoved"));
+
+    // the generated team is given its numbers, then the waitlisted player takes a place
+    List<RecordedEvent> jerseys = recorded.get("soccerteam.JerseyAssignment");
+    assertEquals(2, jerseys.size());
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, jerseys.get(0).getInt("playersMoved"));
+    assertEquals(1, jerseys.get(1).getInt("playersMoved"));
+    assertEquals(rosterSize - 1, jerseys.get(1).getInt("rosterSize"));
+
+    RecordedEvent removal = recorded.get("soccerteam.BulkRemoval").get(0);
+    assertEquals(1, removal.getInt("playersMoved"));
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT - 1, removal.getInt("teamSize"));
+  }
+}
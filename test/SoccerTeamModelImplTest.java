@@ -1,7 +1,13 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -142,4 +148,328 @@ public class SoccerTeamModelImplTest {
     assertEquals(SoccerTeamModelImpl.NUMBER_OF_MIDFIELDERS, midfielders);
     assertEquals(SoccerTeamModelImpl.NUMBER_OF_FORWARD, forwards);
   }
+
+  /**
+   * Tests that the starting lineup is kept while the team is unchanged and generated again
+   * after a team member is removed.
+   */
+  @Test
+  public void testGenerateStartingLineupIsCachedUntilTeamChanges() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT + 1; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+    List<Player> startingLineup = model.getTeam().getStartingLineup();
+    model.generateStartingLineup();
+    assertSame(startingLineup, model.getTeam().getStartingLineup());
+
+    Player leaving = startingLineup.get(0);
+    model.removePlayer(leaving.getId());
+    model.generateStartingLineup();
+    assertNotSame(startingLineup, model.getTeam().getStartingLineup());
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT, model.getTeam().getStartingLineup().size());
+    assertFalse(model.getTeam().getStartingLineup().contains(leaving));
+  }
+
+  /**
+   * Tests that the starting lineup is generated again after the preferred position of one of
+   * its candidates changed, although the team itself did not change.
+   */
+  @Test
+  public void testGenerateStartingLineupFollowsChangedPosition() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+    List<Player> startingLineup = model.getTeam().getStartingLineup();
+    Player keeper = model.getTeam().getPlayers().get(SoccerTeamModelImpl.LINEUP_LIMIT - 1);
+    keeper.setPreferredPosition(Position.GOALIE);
+    model.generateStartingLineup();
+
+    assertNotSame(startingLineup, model.getTeam().getStartingLineup());
+    assertEquals(Position.GOALIE, keeper.getAssignedPosition());
+    assertEquals(1, model.getTeam().getStartingLineup().stream()
+        .filter(player -> player.getAssignedPosition() == Position.GOALIE).count());
+  }
+
+  /**
+   * Tests the removePlayers method.
+   * Verifies that the listed players leave the registry, the team and the lineup, that the
+   * waitlist fills the free places and that unknown IDs are reported instead of thrown.
+   */
+  @Test
+  public void testRemovePlayers() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_UPPER_LIMIT + 2; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+    Player first = model.getTeam().getStartingLineup().get(0);
+    Player second = model.getTeam().getPlayers().get(SoccerTeamModelImpl.TEAM_UPPER_LIMIT - 1);
+    List<String> notFound =
+        model.removePlayers(List.of("unknown", first.getId(), second.getId(), "unknown"));
+
+    assertEquals(List.of("unknown", "unknown"), notFound);
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, model.getPlayers().size());
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, model.getTeam().getPlayers().size());
+    assertFalse(model.getTeam().getPlayers().contains(first));
+    assertFalse(model.getTeam().getStartingLineup().contains(first));
+    assertTrue(model.getWaitlist().isEmpty());
+    assertEquals(null, first.getJerseyNumber());
+  }
+
+  /**
+   * Tests the rolloverSeason method.
+   * Verifies that only players who aged out are removed and that their jerseys are released.
+   */
+  @Test
+  public void testRolloverSeason() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(9), Position.FORWARD, 5);
+    model.addPlayer("Smith", "Jane", LocalDate.now().minusYears(5), Position.DEFENDER, 4);
+    Player oldest = model.getPlayers().get(0);
+    oldest.setJerseyNumber(7);
+    model.getTeam().addPlayer(oldest);
+
+    List<Player> agedOut = model.rolloverSeason(LocalDate.now().plusYears(1));
+    assertEquals(1, agedOut.size());
+    assertEquals(oldest, agedOut.get(0));
+    assertEquals(null, oldest.getJerseyNumber());
+    assertEquals(1, model.getPlayers().size());
+    assertEquals("Smith", model.getPlayers().get(0).getLastName());
+    assertTrue(model.getTeam().getPlayers().isEmpty());
+  }
+
+  /**
+   * Tests the rolloverSeason method when every player is still eligible.
+   * Verifies that nothing is removed.
+   */
+  @Test
+  public void testRolloverSeasonNoPlayerAgedOut() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 5);
+    assertTrue(model.rolloverSeason(LocalDate.now()).isEmpty());
+    assertEquals(1, model.getPlayers().size());
+  }
+
+  /**
+   * Tests that model listeners are told about added and removed players, assigned jersey
+   * numbers and assigned positions.
+   */
+  @Test
+  public void testModelListener() {
+    List<String> changes = new ArrayList<>();
+    model.addModelListener(new SoccerTeamModelListener() {
+      @Override
+      public void playerAdded(Player player) {
+        changes.add("added " + player.getLastName());
+      }
+
+      @Override
+      public void playerRemoved(Player player) {
+        changes.add("removed " + player.getLastName());
+      }
+
+      @Override
+      public void jerseyAssigned(Player player) {
+        changes.add("jersey");
+      }
+
+      @Override
+      public void positionAssigned(Player player) {
+        changes.add("position");
+      }
+    });
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateStartingLineup();
+    model.removePlayer(model.getPlayers().get(0).getId());
+
+    // every player got a jersey number, and the removed player gave it back
+    assertEquals("added Doe0", changes.get(0));
+    assertEquals(SoccerTeamModelImpl.TEAM_LOWER_LIMIT + 1,
+        changes.stream().filter(change -> change.equals("jersey")).count());
+    assertEquals(SoccerTeamModelImpl.LINEUP_LIMIT,
+        changes.stream().filter(change -> change.equals("position")).count());
+    assertEquals("removed Doe0", changes.get(changes.size() - 1));
+  }
+
+  /**
+   * Tests that a listener that throws neither stops the other listeners from being told nor
+   * interrupts the change, and that its exception reaches the uncaught exception handler.
+   */
+  @Test
+  public void testThrowingListenerDoesNotInterruptChange() {
+    List<Throwable> reported = new ArrayList<>();
+    List<Player> jerseys = new ArrayList<>();
+    Thread thread = Thread.currentThread();
+    Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+    try {
+      for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+        model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+      }
+      model.generateTeam();
+      model.addModelListener(new SoccerTeamModelListener() {
+        @Override
+        public void playerAdded(Player player) {
+          throw new IllegalStateException("broken listener");
+        }
+      });
+      model.addModelListener(new SoccerTeamModelListener() {
+        @Override
+        public void jerseyAssigned(Player player) {
+          jerseys.add(player);
+        }
+      });
+      model.addPlayer("Late", "Lily", LocalDate.now().minusYears(5), Position.GOALIE, 1);
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+
+    assertEquals(1, reported.size());
+    assertEquals("broken listener", reported.get(0).getMessage());
+    Player late = model.getPlayers().get(SoccerTeamModelImpl.TEAM_LOWER_LIMIT);
+    assertTrue(model.getTeam().contains(late));
+    assertEquals(List.of(late), jerseys);
+  }
+
+  /**
+   * Tests that the listeners are told when removing several players releases their jersey
+   * numbers.
+   */
+  @Test
+  public void testRemovePlayersReleasesJerseyNumbers() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_LOWER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.generateTeam();
+    Player leaving = model.getPlayers().get(0);
+    List<Integer> jerseys = new ArrayList<>();
+    model.addModelListener(new SoccerTeamModelListener() {
+      @Override
+      public void jerseyAssigned(Player player) {
+        jerseys.add(player.getJerseyNumber());
+      }
+    });
+    model.removePlayers(List.of(leaving.getId()));
+    assertEquals(null, leaving.getJerseyNumber());
+    assertEquals(Arrays.asList((Integer) null), jerseys);
+  }
+
+  /**
+   * Tests that the players who do not make the team are waitlisted, and that removing a team
+   * member promotes the best waitlisted player with the freed jersey number.
+   */
+  @Test
+  public void testWaitlistPromotion() {
+    for (int i = 0; i < SoccerTeamModelImpl.TEAM_UPPER_LIMIT; i++) {
+      model.addPlayer("Doe" + i, "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    }
+    model.addPlayer("Late", "Lily", LocalDate.now().minusYears(5), Position.GOALIE, 1);
+    model.addPlayer("Early", "Eddie", LocalDate.now().minusYears(5), Position.GOALIE, 2);
+    model.generateTeam();
+
+    List<Player> waitlist = model.getWaitlist();
+    assertEquals(2, waitlist.size());
+    assertEquals("Early", waitlist.get(0).getLastName());
+
+    Player leaving = model.getTeam().getPlayers().get(3);
+    Integer jerseyNumber = leaving.getJerseyNumber();
+    model.removePlayer(leaving.getId());
+    assertEquals(SoccerTeamModelImpl.TEAM_UPPER_LIMIT, model.getTeam().getPlayers().size());
+    assertEquals(null, leaving.getJerseyNumber());
+    assertEquals(jerseyNumber, waitlist.get(0).getJerseyNumber());
+    assertTrue(model.getTeam().getPlayers().contains(waitlist.get(0)));
+    assertEquals(1, model.getWaitlist().size());
+  }
+
+  /**
+   * Tests that a second registration of the same child is rejected, ignoring case, accents
+   * and extra spaces, and that the child can register again after being removed.
+   */
+  @Test
+  public void testAddPlayerRejectsDuplicate() {
+    LocalDate birthdate = LocalDate.now().minusYears(5);
+    model.addPlayer("M\u00fcller", "Anna Lena", birthdate, Position.FORWARD, 3);
+    try {
+      model.addPlayer("  MULLER ", "anna  lena", birthdate, Position.GOALIE, 4);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertEquals(1, model.getPlayers().size());
+    }
+    model.addPlayer("Muller", "Anna Lena", birthdate.minusDays(1), Position.GOALIE, 4);
+    assertEquals(2, model.getPlayers().size());
+
+    model.removePlayer(model.getPlayers().get(0).getId());
+    model.addPlayer("Muller", "Anna Lena", birthdate, Position.FORWARD, 3);
+    assertEquals(2, model.getPlayers().size());
+  }
+
+  /**
+   * Tests that the bulk scan finds the duplicates of an existing registry.
+   */
+  @Test
+  public void testFindDuplicates() {
+    LocalDate birthdate = LocalDate.now().minusYears(5);
+    Player first = new Player("Doe", "John", birthdate, Position.FORWARD, 3);
+    Player other = new Player("Smith", "Jane", birthdate, Position.GOALIE, 2);
+    Player second = new Player("DOE", " john", birthdate, Position.DEFENDER, 4);
+    List<List<Player>> duplicates =
+        SoccerTeamModelImpl.findDuplicates(Arrays.asList(first, other, second));
+    assertEquals(1, duplicates.size());
+    assertEquals(Arrays.asList(first, second), duplicates.get(0));
+  }
+
+  /**
+   * Tests that a registered player who is renamed is registered under the new name: the old
+   * name is free again, the new name is taken, and a rename onto a registered player is
+   * rejected.
+   */
+  @Test
+  public void testRenameMovesRegistration() {
+    LocalDate birthdate = LocalDate.now().minusYears(5);
+    model.addPlayer("Doe", "John", birthdate, Position.FORWARD, 3);
+    model.addPlayer("Smith", "Jane", birthdate, Position.FORWARD, 3);
+    model.getPlayers().get(0).setLastName("Roe");
+
+    model.addPlayer("Doe", "John", birthdate, Position.FORWARD, 3);
+    assertEquals(3, model.getPlayers().size());
+    try {
+      model.addPlayer("Roe", "John", birthdate, Position.FORWARD, 3);
+      fail("Expected the renamed player to be registered under the new name");
+    } catch (IllegalArgumentException e) {
+      assertEquals(3, model.getPlayers().size());
+    }
+    try {
+      model.getPlayers().get(1).setFirstName("john");
+      model.getPlayers().get(1).setLastName("ROE");
+      fail("Expected the rename onto a registered player to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Smith", model.getPlayers().get(1).getLastName());
+    }
+
+    // the player leaves under the current name, which is then free again
+    model.removePlayer(model.getPlayers().get(0).getId());
+    model.addPlayer("Roe", "John", birthdate, Position.FORWARD, 3);
+    assertTrue(SoccerTeamModelImpl.findDuplicates(model.getPlayers()).isEmpty());
+  }
+
+  /**
+   * Tests that the birthdate of a registered player cannot be changed, so that the birthdate
+   * index used by the season rollover stays ordered, and that it can be changed again after
+   * the player was removed.
+   */
+  @Test
+  public void testBirthdateOfRegisteredPlayerCannotChange() {
+    model.addPlayer("Doe", "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+    Player player = model.getPlayers().get(0);
+    try {
+      player.setBirthdate(LocalDate.now().minusYears(9));
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals(LocalDate.now().minusYears(5), player.getBirthdate());
+    }
+    model.removePlayer(player.getId());
+    player.setBirthdate(LocalDate.now().minusYears(9));
+    assertEquals(LocalDate.now().minusYears(9), player.getBirthdate());
+  }
 }
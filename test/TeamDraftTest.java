@@ -0,0 +1,88 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the TeamDraft class.
+ */
+public class TeamDraftTest {
+
+  private List<Player> pool;
+
+  /**
+   * Sets up a pool of 103 random players.
+   */
+  @Before
+  public void setUp() {
+    Random random = new Random(7);
+    pool = new ArrayList<>();
+    for (int i = 0; i < 103; i++) {
+      pool.add(new Player("Doe" + i, "John", LocalDate.now().minusYears(6),
+          Position.values()[random.nextInt(Position.values().length)], 1 + random.nextInt(5)));
+    }
+  }
+
+  /**
+   * Tests that every player is drafted exactly once into teams of nearly equal size and skill.
+   */
+  @Test
+  public void testDraftIsBalanced() {
+    List<Team> teams = new TeamDraft(2, 1L).draft(pool, 5);
+    assertEquals(5, teams.size());
+
+    Map<Player, Boolean> drafted = new IdentityHashMap<>();
+    int minSkill = Integer.MAX_VALUE;
+    int maxSkill = Integer.MIN_VALUE;
+    for (Team team : teams) {
+      int size = team.getPlayers().size();
+      assertTrue(size == 20 || size == 21);
+      int skill = 0;
+      for (Player player : team.getPlayers()) {
+        assertEquals(null, drafted.put(player, true));
+        skill += player.getSkillLevel();
+      }
+      minSkill = Math.min(minSkill, skill);
+      maxSkill = Math.max(maxSkill, skill);
+    }
+    assertEquals(pool.size(), drafted.size());
+    assertTrue(maxSkill - minSkill <= 5);
+  }
+
+  /**
+   * Tests drafting into more teams than there are players.
+   * Expects an IllegalArgumentException to be thrown.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyTeams() {
+    new TeamDraft(1L).draft(pool, pool.size() + 1);
+  }
+
+  /**
+   * Tests that an immutable pool is drafted, and that the null check does not rely on
+   * contains(null), which immutable lists refuse.
+   */
+  @Test
+  public void testImmutablePool() {
+    List<Team> teams = new TeamDraft(1L).draft(List.copyOf(pool), 2);
+    assertEquals(pool.size(), teams.get(0).size() + teams.get(1).size());
+  }
+
+  /**
+   * Tests that a pool with a null player is rejected.
+   * Expects an IllegalArgumentException to be thrown.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPlayer() {
+    List<Player> withNull = new ArrayList<>(pool);
+    withNull.add(null);
+    new TeamDraft(1L).draft(withNull, 2);
+  }
+}
@@ -1,9 +1,13 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,11 +31,11 @@ public class TeamTest {
   @Before
   public void setUp() {
     team = new Team();
-    player1 = new Player("Doe", "John", LocalDate.of(2018, 1, 1), Position.FORWARD, 3);
-    player2 = new Player("Smith", "Jane", LocalDate.of(2017, 5, 15), Position.DEFENDER, 4);
-    player3 = new Player("Brown", "Alice", LocalDate.of(2016, 3, 1), Position.MIDFIELDER, 2);
-    player4 = new Player("Johnson", "Bob", LocalDate.of(2017, 4, 1), Position.GOALIE, 5);
-    player5 = new Player("Perry", "Ketty", LocalDate.of(2017, 4, 1), Position.MIDFIELDER, 5);
+    player1 = new Player("Doe", "John", LocalDate.now().minusYears(3), Position.FORWARD, 3);
+    player2 = new Player("Smith", "Jane", LocalDate.now().minusYears(4), Position.DEFENDER, 4);
+    player3 = new Player("Brown", "Alice", LocalDate.now().minusYears(5), Position.MIDFIELDER, 2);
+    player4 = new Player("Johnson", "Bob", LocalDate.now().minusYears(4), Position.GOALIE, 5);
+    player5 = new Player("Perry", "Ketty", LocalDate.now().minusYears(4), Position.MIDFIELDER, 5);
   }
 
   /**
@@ -153,4 +157,71 @@ public class TeamTest {
     String expectedString = "Team{players: [" + player1.toString() + "]}";
     assertEquals(expectedString, team.toString());
   }
+
+  /**
+   * Tests the addPlayer method with a player who is already in the team.
+   * Expects an IllegalArgumentException to be thrown.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddDuplicatePlayer() {
+    team.addPlayer(player1);
+    team.addPlayer(player1);
+  }
+
+  /**
+   * Tests that the players keep the order they were added in, also after a removal, and that
+   * membership is found by ID.
+   */
+  @Test
+  public void testPlayersKeepInsertionOrder() {
+    team.addPlayer(player2);
+    team.addPlayer(player1);
+    team.addPlayer(player3);
+    team.removePlayer(player1);
+    team.addPlayer(player4);
+    assertEquals(Arrays.asList(player2, player3, player4), team.getPlayers());
+    assertEquals(3, team.size());
+    assertTrue(team.contains(player3));
+    assertFalse(team.contains(player1));
+  }
+
+  /**
+   * Tests that the list of players is kept until the team changes and cannot be changed.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testGetPlayersIsUnmodifiable() {
+    team.addPlayer(player1);
+    List<Player> players = team.getPlayers();
+    assertSame(players, team.getPlayers());
+    team.addPlayer(player2);
+    assertNotSame(players, team.getPlayers());
+    team.getPlayers().add(player3);
+  }
+
+  /**
+   * Tests that the starting lineup is copied, cannot hold a player twice, and loses a player
+   * who leaves the team.
+   */
+  @Test
+  public void testStartingLineupByPlayer() {
+    player1.setAssignedPosition(Position.FORWARD);
+    player2.setAssignedPosition(Position.DEFENDER);
+    team.addPlayer(player1);
+    team.addPlayer(player2);
+    List<Player> startingLineup = new ArrayList<>(Arrays.asList(player1, player2));
+    team.setStartingLineup(startingLineup);
+    startingLineup.clear();
+    assertEquals(2, team.getStartingLineup().size());
+    assertTrue(team.isInStartingLineup(player2));
+    try {
+      team.setStartingLineup(Arrays.asList(player1, player1));
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertEquals(Arrays.asList(player1, player2), team.getStartingLineup());
+    }
+    team.removePlayers(player -> player == player2);
+    assertFalse(team.isInStartingLineup(player2));
+    assertEquals(1, team.getStatistics().getLineupCount(Position.FORWARD));
+    assertEquals(0, team.getStatistics().getLineupCount(Position.DEFENDER));
+  }
 }
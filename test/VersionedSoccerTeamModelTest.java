@@ -0,0 +1,210 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the VersionedSoccerTeamModel class.
+ */
+public class VersionedSoccerTeamModelTest {
+
+  private static final Instant START = Instant.parse("2024-03-01T10:00:00Z");
+
+  private MutableClock clock;
+  private VersionedSoccerTeamModel model;
+  private int added;
+
+  /**
+   * A clock that the tests move forward by hand.
+   */
+  private static final class MutableClock extends Clock {
+    private Instant now = START;
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+
+  /**
+   * Sets up the test fixture.
+   * Initializes a versioned model keeping ten versions for a day before each test.
+   */
+  @Before
+  public void setUp() {
+    clock = new MutableClock();
+    model = new VersionedSoccerTeamModel(new SoccerTeamModelImpl(), 10, Duration.ofDays(1),
+        clock);
+  }
+
+  /**
+   * Adds players to the model, one minute apart.
+   *
+   * @param count the number of players
+   */
+  private void addPlayers(int count) {
+    for (int i = 0; i < count; i++) {
+      clock.advance(Duration.ofMinutes(1));
+      model.addPlayer("Doe" + added++, "John", LocalDate.now().minusYears(5), Position.FORWARD,
+          3);
+    }
+  }
+
+  /**
+   * Tests that each change makes a new version and that earlier versions are unchanged.
+   */
+  @Test
+  public void testEachChangeMakesVersion() {
+    assertEquals(1, model.latest().getVersion());
+    assertTrue(model.latest().getPlayers().isEmpty());
+    addPlayers(3);
+    assertEquals(4, model.latest().getVersion());
+    assertEquals(3, model.latest().getPlayers().size());
+    assertEquals(1, model.asOf(2).getPlayers().size());
+    assertEquals("Doe0", model.asOf(2).getPlayers().get(0).getLastName());
+  }
+
+  /**
+   * Tests that the wearer of a jersey number can be found in an earlier version after the
+   * player was removed.
+   */
+  @Test
+  public void testJerseyNumberAsOfEarlierVersion() {
+    addPlayers(SoccerTeamModelImpl.TEAM_LOWER_LIMIT);
+    clock.advance(Duration.ofMinutes(1));
+    model.generateTeam();
+    RosterSnapshot matchDay = model.latest();
+    RosterSnapshot.PlayerState wearer = matchDay.findByJerseyNumber(7);
+    assertNotNull(wearer);
+
+    clock.advance(Duration.ofMinutes(1));
+    model.removePlayer(wearer.getId());
+    assertEquals(matchDay.getVersion() + 1, model.latest().getVersion());
+    assertSame(wearer, model.asOf(matchDay.getVersion()).findByJerseyNumber(7));
+    assertSame(wearer, model.asOf(matchDay.getTimestamp().plusSeconds(30))
+        .findByJerseyNumber(7));
+    for (RosterSnapshot.PlayerState player : model.latest().getPlayers()) {
+      assertTrue(!player.getId().equals(wearer.getId()));
+    }
+  }
+
+  /**
+   * Tests that players who did not change share their state between versions.
+   */
+  @Test
+  public void testUnchangedPlayersShareState() {
+    addPlayers(2);
+    RosterSnapshot before = model.latest();
+    addPlayers(1);
+    RosterSnapshot after = model.latest();
+    assertSame(before.getPlayers().get(0), after.getPlayers().get(0));
+    assertSame(before.getPlayers().get(1), after.getPlayers().get(1));
+
+    // a change without effect does not make a version
+    model.removePlayers(Collections.<String>emptyList());
+    assertSame(after, model.latest());
+  }
+
+  /**
+   * Tests that a change that fails without changing anything does not make a version.
+   */
+  @Test
+  public void testFailedChangeMakesNoVersion() {
+    addPlayers(2);
+    RosterSnapshot before = model.latest();
+    try {
+      model.addPlayer("Doe0", "John", LocalDate.now().minusYears(5), Position.FORWARD, 3);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertSame(before, model.latest());
+    }
+  }
+
+  /**
+   * Tests that removing a player leaves the states of the other players shared.
+   */
+  @Test
+  public void testRemovedPlayerLeavesOthersShared() {
+    addPlayers(3);
+    RosterSnapshot before = model.latest();
+    model.removePlayer(before.getPlayers().get(1).getId());
+    RosterSnapshot after = model.latest();
+    assertEquals(3, before.getPlayers().size());
+    assertEquals(2, after.getPlayers().size());
+    assertSame(before.getPlayers().get(0), after.getPlayers().get(0));
+    assertSame(before.getPlayers().get(2), after.getPlayers().get(1));
+  }
+
+  /**
+   * Tests that a player whose jersey number changed gets a new state.
+   */
+  @Test
+  public void testChangedPlayerGetsNewState() {
+    addPlayers(SoccerTeamModelImpl.TEAM_LOWER_LIMIT);
+    RosterSnapshot before = model.latest();
+    model.generateTeam();
+    RosterSnapshot after = model.latest();
+    assertNotSame(before.getPlayers().get(0), after.getPlayers().get(0));
+    assertEquals(SoccerTeamModelImpl.TEAM_LOWER_LIMIT, after.getTeam().size());
+    assertSame(after.getPlayers().get(0), model.asOf(after.getVersion()).getPlayers().get(0));
+  }
+
+  /**
+   * Tests that the oldest versions are dropped beyond the maximum number of versions.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDropsVersionsBeyondMaximum() {
+    addPlayers(12);
+    assertEquals(10, model.getVersions().size());
+    assertEquals(4, model.getVersions().get(0).getVersion());
+    model.asOf(3);
+  }
+
+  /**
+   * Tests that versions older than the maximum age are dropped, keeping the latest.
+   */
+  @Test
+  public void testDropsVersionsBeyondMaximumAge() {
+    addPlayers(2);
+    clock.advance(Duration.ofDays(2));
+    assertEquals(3, model.getVersions().size());
+    model.addPlayer("Roe", "Jane", LocalDate.now().minusYears(5), Position.GOALIE, 4);
+    assertEquals(1, model.getVersions().size());
+    assertEquals(4, model.latest().getVersion());
+    assertSame(model.latest(), model.asOf(clock.instant()));
+  }
+
+  /**
+   * Tests that a time before the oldest kept version cannot be queried.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAsOfBeforeOldestVersion() {
+    model.asOf(START.minusSeconds(1));
+  }
+}